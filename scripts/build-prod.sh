@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Builds the production layout in target/prod: the AOT-processed jar, extracted so that its classes
+# can be archived, and a CDS archive (application.jsa) recorded from a training run that starts the
+# application context and exits. The training run also validates db/schema.sql against the entities.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+mvn -B -q -Pprod -DskipTests package
+JAR=$(ls target/aot/agile-tools-api-*.jar)
+
+rm -rf target/prod
+"$JAVA" -Djarmode=tools -jar "$JAR" extract --destination target/prod
+
+# The archive is only used when the class path matches, so train from where start-prod.sh runs.
+(cd target/prod && "$JAVA" -XX:ArchiveClassesAtExit=application.jsa -Xlog:cds=error \
+    -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=prod \
+    -Dspring.context.exit=onRefresh \
+    -jar "$(basename "$JAR")" \
+    --server.port=0 \
+    --spring.jpa.hibernate.ddl-auto=validate \
+    --spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true)
+
+echo "Built target/prod, start it with scripts/start-prod.sh"
@@ -0,0 +1,12 @@
+#!/usr/bin/env bash
+# Starts the layout built by scripts/build-prod.sh with the prod profile, AOT and the CDS archive.
+# Arguments are passed on to the application, JVM options can be set in JAVA_OPTS.
+set -euo pipefail
+cd "$(dirname "$0")/../target/prod"
+
+exec "${JAVA_HOME:+$JAVA_HOME/bin/}java" \
+    -XX:SharedArchiveFile=application.jsa \
+    -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=prod \
+    ${JAVA_OPTS:-} \
+    -jar agile-tools-api-*.jar "$@"
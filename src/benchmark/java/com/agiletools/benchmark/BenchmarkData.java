@@ -0,0 +1,97 @@
+package com.agiletools.benchmark;
+
+import com.agiletools.dto.BulkResultDto;
+import com.agiletools.dto.BulkRowResultDto;
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.dto.PublicHolidayDto;
+import com.agiletools.dto.TeamDto;
+import com.agiletools.dto.TeamMemberDto;
+import com.agiletools.model.Leave;
+import com.agiletools.service.HolidayCalendarService;
+import com.agiletools.service.LeaveService;
+import com.agiletools.service.TeamMemberService;
+import com.agiletools.service.TeamService;
+import org.springframework.context.ApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds benchmark data through the services, so that sequences, caches and indexes end up in the
+ * same state as in a running application.
+ */
+public final class BenchmarkData {
+
+    public static final String JURISDICTION = "NL";
+    public static final int LEAVE_SPACING_DAYS = 14;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a team of {@code members} members in {@link #JURISDICTION}, each with
+     * {@code leavesPerMember} non-overlapping leaves of three days, one every two weeks from
+     * {@code firstDay}. Returns the ids of the created members.
+     */
+    public static List<Long> seedTeam(ApplicationContext context, String name, int members, int leavesPerMember,
+                                      LocalDate firstDay) {
+        TeamDto team = new TeamDto();
+        team.setName(name);
+        Long teamId = context.getBean(TeamService.class).createTeam(team).getId();
+
+        List<TeamMemberDto> memberDtos = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            TeamMemberDto member = new TeamMemberDto();
+            member.setFirstName("First" + i);
+            member.setLastName("Last" + i);
+            member.setEmail(name.toLowerCase().replace(' ', '-') + "-" + i + "@example.com");
+            member.setJurisdiction(JURISDICTION);
+            member.setCapacityPercentage(i % 4 == 0 ? 50.0 : 100.0);
+            member.setTeamId(teamId);
+            memberDtos.add(member);
+        }
+        List<Long> memberIds = acceptedIds(context.getBean(TeamMemberService.class).createMembers(memberDtos));
+
+        List<LeaveDto> leaveDtos = new ArrayList<>(memberIds.size() * leavesPerMember);
+        for (Long memberId : memberIds) {
+            for (int i = 0; i < leavesPerMember; i++) {
+                LocalDate start = firstDay.plusDays((long) i * LEAVE_SPACING_DAYS + memberId % 7);
+                LeaveDto leave = new LeaveDto(start, start.plusDays(2), Leave.LeaveType.ANNUAL_LEAVE, null);
+                leave.setTeamMemberId(memberId);
+                leaveDtos.add(leave);
+            }
+        }
+        LeaveService leaveService = context.getBean(LeaveService.class);
+        for (int from = 0; from < leaveDtos.size(); from += 10_000) {
+            leaveService.createLeaves(leaveDtos.subList(from, Math.min(from + 10_000, leaveDtos.size())));
+        }
+        return memberIds;
+    }
+
+    /**
+     * Creates one public holiday in {@link #JURISDICTION} on the first Monday of every month of
+     * {@code year}.
+     */
+    public static void seedHolidays(ApplicationContext context, int year) {
+        HolidayCalendarService holidayCalendarService = context.getBean(HolidayCalendarService.class);
+        for (int month = 1; month <= 12; month++) {
+            LocalDate date = LocalDate.of(year, month, 1);
+            while (date.getDayOfWeek().getValue() != 1) {
+                date = date.plusDays(1);
+            }
+            PublicHolidayDto holiday = new PublicHolidayDto();
+            holiday.setJurisdiction(JURISDICTION);
+            holiday.setDate(date);
+            holiday.setName("Holiday " + month);
+            holidayCalendarService.createHoliday(holiday);
+        }
+    }
+
+    private static List<Long> acceptedIds(BulkResultDto result) {
+        return result.getRows().stream()
+                .filter(row -> row.getStatus() == BulkRowResultDto.Status.ACCEPTED)
+                .map(BulkRowResultDto::getId)
+                .toList();
+    }
+}
\ No newline at end of file
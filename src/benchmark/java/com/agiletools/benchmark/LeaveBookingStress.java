@@ -0,0 +1,201 @@
+package com.agiletools.benchmark;
+
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.model.Leave;
+import com.agiletools.service.LeaveOverlapException;
+import com.agiletools.service.LeaveService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency stress test for leave booking. The first phase fires many parallel, deliberately
+ * conflicting bookings at a handful of members and then checks in SQL that no member ended up with
+ * overlapping leaves. The second phase measures booking throughput when every thread books for its
+ * own member (each in its own team, so that the capacity aggregate's team lock is not shared
+ * either), for 1, 2, 4, ... threads up to {@code benchmark.maxThreads}.
+ *
+ * <p>Exits with status 1 when an overlap is found. Results are printed as JSON and written to
+ * {@code target/benchmark/leave-booking-stress.json}.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec
+ * -Dbenchmark.mainClass=com.agiletools.benchmark.LeaveBookingStress}.
+ */
+public class LeaveBookingStress {
+
+    private static final int CONFLICT_MEMBERS = Integer.getInteger("benchmark.conflictMembers", 20);
+    private static final int CONFLICT_BOOKINGS = Integer.getInteger("benchmark.conflictBookings", 5_000);
+    private static final int CONFLICT_THREADS = Integer.getInteger("benchmark.conflictThreads", 64);
+    private static final int CONFLICT_WINDOW_DAYS = 60;
+    private static final int MAX_THREADS = Integer.getInteger("benchmark.maxThreads",
+            Runtime.getRuntime().availableProcessors());
+    private static final int BOOKINGS_PER_THREAD = Integer.getInteger("benchmark.bookingsPerThread", 2_000);
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    private static final Path OUTPUT = Path.of("target", "benchmark", "leave-booking-stress.json");
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = BenchmarkApplication.start("leave-booking-stress",
+                "--spring.datasource.hikari.maximum-pool-size=" + Math.max(CONFLICT_THREADS, MAX_THREADS));
+        int exitCode = 0;
+
+        try {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            LeaveService leaveService = context.getBean(LeaveService.class);
+            ObjectMapper objectMapper = new ObjectMapper();
+            List<Map<String, Object>> results = new ArrayList<>();
+
+            seedMembers(jdbcTemplate, CONFLICT_MEMBERS + MAX_THREADS);
+
+            Map<String, Object> conflicts = runConflictingBookings(leaveService, jdbcTemplate);
+            results.add(conflicts);
+            System.out.println(objectMapper.writeValueAsString(conflicts));
+            if ((long) conflicts.get("overlappingPairs") > 0) {
+                exitCode = 1;
+            }
+
+            for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+                Map<String, Object> throughput = runIndependentBookings(leaveService, threads);
+                results.add(throughput);
+                System.out.println(objectMapper.writeValueAsString(throughput));
+            }
+
+            write(objectMapper, results);
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * One team per member, with member ids starting at 1.
+     */
+    private static void seedMembers(JdbcTemplate jdbcTemplate, int members) {
+        jdbcTemplate.update("INSERT INTO teams (version, name, created_at, updated_at) " +
+                "SELECT 0, 'Team ' || X, NOW(), NOW() FROM SYSTEM_RANGE(1, ?)", members);
+        jdbcTemplate.update("INSERT INTO team_members " +
+                "(id, version, first_name, last_name, email, jurisdiction, capacity_percentage, team_id, created_at, updated_at) " +
+                "SELECT X, 0, 'First' || X, 'Last' || X, 'member' || X || '@example.com', 'J1', 100.0, X, NOW(), NOW() " +
+                "FROM SYSTEM_RANGE(1, ?)", members);
+    }
+
+    private static Map<String, Object> runConflictingBookings(LeaveService leaveService, JdbcTemplate jdbcTemplate)
+            throws Exception {
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        long elapsed;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONFLICT_THREADS)) {
+            List<Future<?>> futures = new ArrayList<>(CONFLICT_BOOKINGS);
+            for (int i = 0; i < CONFLICT_BOOKINGS; i++) {
+                Random random = new Random(i);
+                long memberId = 1 + random.nextInt(CONFLICT_MEMBERS);
+                LocalDate startDate = FIRST_DAY.plusDays(random.nextInt(CONFLICT_WINDOW_DAYS));
+                LocalDate endDate = startDate.plusDays(random.nextInt(5));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        leaveService.createLeave(leave(memberId, startDate, endDate));
+                        accepted.incrementAndGet();
+                    } catch (LeaveOverlapException e) {
+                        rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsed = System.nanoTime() - started;
+        }
+
+        Long overlappingPairs = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM leaves a JOIN leaves b " +
+                "ON a.team_member_id = b.team_member_id AND a.id < b.id " +
+                "AND a.start_date <= b.end_date AND b.start_date <= a.end_date", Long.class);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("phase", "conflicting");
+        result.put("members", CONFLICT_MEMBERS);
+        result.put("threads", CONFLICT_THREADS);
+        result.put("bookings", CONFLICT_BOOKINGS);
+        result.put("accepted", accepted.get());
+        result.put("rejectedAsOverlap", rejected.get());
+        result.put("failed", failed.get());
+        result.put("overlappingPairs", overlappingPairs);
+        result.put("bookingsPerSecond", CONFLICT_BOOKINGS / (elapsed / 1e9));
+        return result;
+    }
+
+    private static Map<String, Object> runIndependentBookings(LeaveService leaveService, int threads) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        long elapsed;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int thread = 0; thread < threads; thread++) {
+                long memberId = CONFLICT_MEMBERS + 1 + thread;
+                // Every run books further into the future, so runs do not collide with each other.
+                LocalDate firstDay = FIRST_DAY.plusYears(100L * threads);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                        LocalDate day = firstDay.plusDays(2L * i);
+                        leaveService.createLeave(leave(memberId, day, day));
+                    }
+                    return null;
+                }));
+            }
+
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsed = System.nanoTime() - started;
+        }
+
+        long bookings = (long) threads * BOOKINGS_PER_THREAD;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("phase", "independent");
+        result.put("threads", threads);
+        result.put("bookings", bookings);
+        result.put("bookingsPerSecond", bookings / (elapsed / 1e9));
+        return result;
+    }
+
+    private static LeaveDto leave(long memberId, LocalDate startDate, LocalDate endDate) {
+        LeaveDto leaveDto = new LeaveDto();
+        leaveDto.setTeamMemberId(memberId);
+        leaveDto.setStartDate(startDate);
+        leaveDto.setEndDate(endDate);
+        leaveDto.setLeaveType(Leave.LeaveType.ANNUAL_LEAVE);
+        return leaveDto;
+    }
+
+    private static void write(ObjectMapper objectMapper, List<Map<String, Object>> results) throws IOException {
+        Files.createDirectories(OUTPUT.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(OUTPUT.toFile(), results);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.agiletools.benchmark;
+
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.model.Leave;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a {@code List<LeaveDto>} response body, written to a stream the way the
+ * HTTP message converter does. The mapper is built with the same defaults Spring Boot applies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaveSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<LeaveDto> leaves;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        leaves = leaves(size);
+    }
+
+    @Benchmark
+    public void writeList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), leaves);
+    }
+
+    /**
+     * Leaves of 100 members spread over a year, as a large team or org-wide listing returns them.
+     */
+    static List<LeaveDto> leaves(int size) {
+        Leave.LeaveType[] types = Leave.LeaveType.values();
+        LocalDate firstDay = LocalDate.of(2024, 1, 1);
+        LocalDateTime now = LocalDateTime.now();
+        List<LeaveDto> leaves = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDate start = firstDay.plusDays(i % 365);
+            LeaveDto leave = new LeaveDto(start, start.plusDays(i % 5), types[i % types.length], "Leave " + i);
+            leave.setId((long) i + 1);
+            leave.setTeamMemberId((long) i % 100 + 1);
+            leave.setTeamMemberName("Member " + (i % 100 + 1));
+            leave.setWorkingDays(i % 5 + 1);
+            leave.setCreatedAt(now);
+            leave.setUpdatedAt(now);
+            leaves.add(leave);
+        }
+        return leaves;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.agiletools.benchmark;
+
+import com.agiletools.dto.LeaveDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of writing a {@code List<LeaveDto>} response as JSON, CBOR and Smile, each with and without
+ * gzip, using mappers configured like the HTTP message converters in {@code WebConfig}. The encoded
+ * size of each combination is printed once per trial, so the output shows bytes on the wire next to
+ * the serialization throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<LeaveDto> leaves;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json()
+                    .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        leaves = LeaveSerializationBenchmark.leaves(size);
+
+        ByteCounter counter = new ByteCounter();
+        write(counter);
+        System.out.printf("%nsize=%d format=%s gzip=%b bytes=%d bytesPerRow=%.1f%n",
+                size, format, gzip, counter.bytes, (double) counter.bytes / size);
+    }
+
+    @Benchmark
+    public void writeList() throws IOException {
+        write(OutputStream.nullOutputStream());
+    }
+
+    private void write(OutputStream out) throws IOException {
+        if (gzip) {
+            try (GZIPOutputStream compressed = new GZIPOutputStream(out, 8192)) {
+                objectMapper.writeValue(compressed, leaves);
+            }
+        } else {
+            objectMapper.writeValue(out, leaves);
+        }
+    }
+
+    private static final class ByteCounter extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
\ No newline at end of file
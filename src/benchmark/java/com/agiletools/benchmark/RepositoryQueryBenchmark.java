@@ -0,0 +1,217 @@
+package com.agiletools.benchmark;
+
+import com.agiletools.repository.LeaveRepository;
+import com.agiletools.repository.TeamMemberRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import java.util.stream.LongStream;
+
+/**
+ * Seeds an in-memory H2 database with a large, deterministic dataset (10k members in teams of 100,
+ * 100 leaves each by default) and measures the latency of the {@link LeaveRepository} and
+ * {@link TeamMemberRepository} queries. Prints one JSON object per query and writes all of them to
+ * {@code target/benchmark/repository-queries.json}.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec}. Sizes can be changed through
+ * {@code -Dbenchmark.jvmArgs="-Xmx4g -Dbenchmark.members=20000"}.
+ */
+public class RepositoryQueryBenchmark {
+
+    private static final int MEMBERS = Integer.getInteger("benchmark.members", 10_000);
+    private static final int LEAVES_PER_MEMBER = Integer.getInteger("benchmark.leavesPerMember", 100);
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup", 50);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200);
+    private static final int TEAM_SIZE = 100;
+    private static final int JURISDICTIONS = 20;
+    private static final int LEAVE_SPACING_DAYS = 14;
+    private static final int PERIOD_DAYS = 30;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    private static final Path OUTPUT = Path.of("target", "benchmark", "repository-queries.json");
+
+    public static void main(String[] args) throws IOException {
+        ConfigurableApplicationContext context = BenchmarkApplication.start("repository-queries");
+
+        try {
+            seed(context.getBean(JdbcTemplate.class));
+
+            LeaveRepository leaves = context.getBean(LeaveRepository.class);
+            TeamMemberRepository members = context.getBean(TeamMemberRepository.class);
+            int teams = (MEMBERS + TEAM_SIZE - 1) / TEAM_SIZE;
+
+            Map<String, ToIntFunction<Random>> queries = new LinkedHashMap<>();
+            queries.put("LeaveRepository.findByTeamMemberId",
+                    r -> leaves.findByTeamMemberId(memberId(r)).size());
+            queries.put("LeaveRepository.findByTeamMemberTeamId",
+                    r -> leaves.findByTeamMemberTeamId(teamId(r, teams)).size());
+            queries.put("LeaveRepository.findIntervalsByTeamMemberId",
+                    r -> leaves.findIntervalsByTeamMemberId(memberId(r)).size());
+            queries.put("LeaveRepository.findIntervalsInPeriod", r -> {
+                long firstMember = (long) (teamId(r, teams) - 1) * TEAM_SIZE + 1;
+                List<Long> ids = LongStream.range(firstMember, Math.min(firstMember + TEAM_SIZE, MEMBERS + 1L))
+                        .boxed().toList();
+                LocalDate start = day(r);
+                return leaves.findIntervalsInPeriod(ids, start, start.plusDays(PERIOD_DAYS)).size();
+            });
+            queries.put("LeaveRepository.findWithTeamMemberById",
+                    r -> leaves.findWithTeamMemberById(leaveId(r)).isPresent() ? 1 : 0);
+            queries.put("LeaveRepository.findByIdGreaterThanOrderByIdAsc",
+                    r -> leaves.findByIdGreaterThanOrderByIdAsc(leaveId(r), Limit.of(100)).size());
+            queries.put("LeaveRepository.findByTeamMemberIdAndIdGreaterThanOrderByIdAsc",
+                    r -> leaves.findByTeamMemberIdAndIdGreaterThanOrderByIdAsc(memberId(r), 0L, Limit.of(100)).size());
+            queries.put("LeaveRepository.findByTeamMemberTeamIdAndIdGreaterThanOrderByIdAsc",
+                    r -> leaves.findByTeamMemberTeamIdAndIdGreaterThanOrderByIdAsc(teamId(r, teams), 0L, Limit.of(100)).size());
+            queries.put("LeaveRepository.findOverlappingLeaves", r -> {
+                LocalDate start = day(r);
+                return leaves.findOverlappingLeaves(memberId(r), start, start.plusDays(PERIOD_DAYS)).size();
+            });
+            queries.put("LeaveRepository.findTeamLeavesInPeriod", r -> {
+                LocalDate start = day(r);
+                return leaves.findTeamLeavesInPeriod(teamId(r, teams), start, start.plusDays(PERIOD_DAYS)).size();
+            });
+            queries.put("LeaveRepository.findTeamLeavesInPeriod(paged)", r -> {
+                LocalDate start = day(r);
+                return leaves.findTeamLeavesInPeriod(teamId(r, teams), start, start.plusDays(PERIOD_DAYS), 0L, Limit.of(100)).size();
+            });
+            queries.put("LeaveRepository.findPublicHolidaysInJurisdiction", r -> {
+                LocalDate start = day(r);
+                return leaves.findPublicHolidaysInJurisdiction(jurisdiction(r), start, start.plusDays(PERIOD_DAYS)).size();
+            });
+
+            queries.put("TeamMemberRepository.findByEmail",
+                    r -> members.findByEmail(email(memberId(r))).isPresent() ? 1 : 0);
+            queries.put("TeamMemberRepository.existsByEmail",
+                    r -> members.existsByEmail(email(memberId(r))) ? 1 : 0);
+            queries.put("TeamMemberRepository.findExistingEmails", r -> {
+                List<String> emails = new ArrayList<>(100);
+                for (int i = 0; i < 100; i++) {
+                    emails.add(email(memberId(r)));
+                }
+                return members.findExistingEmails(emails).size();
+            });
+            queries.put("TeamMemberRepository.findByTeamId",
+                    r -> members.findByTeamId(teamId(r, teams)).size());
+            queries.put("TeamMemberRepository.findWithTeamById",
+                    r -> members.findWithTeamById(memberId(r)).isPresent() ? 1 : 0);
+            queries.put("TeamMemberRepository.findByIdGreaterThanOrderByIdAsc",
+                    r -> members.findByIdGreaterThanOrderByIdAsc(memberId(r), Limit.of(100)).size());
+            queries.put("TeamMemberRepository.findByTeamIdAndIdGreaterThanOrderByIdAsc",
+                    r -> members.findByTeamIdAndIdGreaterThanOrderByIdAsc(teamId(r, teams), 0L, Limit.of(100)).size());
+            queries.put("TeamMemberRepository.findByJurisdiction",
+                    r -> members.findByJurisdiction(jurisdiction(r)).size());
+            queries.put("TeamMemberRepository.findByIdWithLeaves",
+                    r -> members.findByIdWithLeaves(memberId(r)).isPresent() ? 1 : 0);
+            queries.put("TeamMemberRepository.findByTeamIdWithLeaves",
+                    r -> members.findByTeamIdWithLeaves(teamId(r, teams)).size());
+
+            ObjectMapper objectMapper = new ObjectMapper();
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (Map.Entry<String, ToIntFunction<Random>> query : queries.entrySet()) {
+                Map<String, Object> result = measure(query.getKey(), query.getValue());
+                results.add(result);
+                System.out.println(objectMapper.writeValueAsString(result));
+            }
+
+            Files.createDirectories(OUTPUT.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(OUTPUT.toFile(), results);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        long started = System.nanoTime();
+        int teams = (MEMBERS + TEAM_SIZE - 1) / TEAM_SIZE;
+
+        jdbcTemplate.update("INSERT INTO teams (version, name, created_at, updated_at) " +
+                "SELECT 0, 'Team ' || X, NOW(), NOW() FROM SYSTEM_RANGE(1, ?)", teams);
+        jdbcTemplate.update("INSERT INTO team_members " +
+                "(id, version, first_name, last_name, email, jurisdiction, capacity_percentage, team_id, created_at, updated_at) " +
+                "SELECT X, 0, 'First' || X, 'Last' || X, 'member' || X || '@example.com', 'J' || MOD(X, ?), 100.0, " +
+                "(X - 1) / ? + 1, NOW(), NOW() FROM SYSTEM_RANGE(1, ?)", JURISDICTIONS, TEAM_SIZE, MEMBERS);
+        // Each member gets LEAVES_PER_MEMBER non-overlapping leaves of 1-5 days, one every two weeks.
+        jdbcTemplate.update("INSERT INTO leaves " +
+                "(id, version, start_date, end_date, leave_type, team_member_id, created_at, updated_at) " +
+                "SELECT X, 0, DATEADD(DAY, MOD(X - 1, ?) * ? + MOD(X, 7), DATE '2020-01-01'), " +
+                "DATEADD(DAY, MOD(X - 1, ?) * ? + MOD(X, 7) + MOD(X, 5), DATE '2020-01-01'), " +
+                "CASE MOD(X, 4) WHEN 0 THEN 'ANNUAL_LEAVE' WHEN 1 THEN 'SICK_LEAVE' " +
+                "WHEN 2 THEN 'PUBLIC_HOLIDAY' ELSE 'CONFERENCE' END, " +
+                "(X - 1) / ? + 1, NOW(), NOW() FROM SYSTEM_RANGE(1, ?)",
+                LEAVES_PER_MEMBER, LEAVE_SPACING_DAYS, LEAVES_PER_MEMBER, LEAVE_SPACING_DAYS,
+                LEAVES_PER_MEMBER, (long) MEMBERS * LEAVES_PER_MEMBER);
+        jdbcTemplate.execute("ANALYZE");
+
+        System.err.printf("Seeded %d teams, %d members and %d leaves in %d ms%n", teams, MEMBERS,
+                (long) MEMBERS * LEAVES_PER_MEMBER, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static Map<String, Object> measure(String name, ToIntFunction<Random> query) {
+        Random random = new Random(42);
+        for (int i = 0; i < WARMUP; i++) {
+            query.applyAsInt(random);
+        }
+
+        long[] nanos = new long[ITERATIONS];
+        long rows = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long started = System.nanoTime();
+            rows += query.applyAsInt(random);
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("query", name);
+        result.put("iterations", ITERATIONS);
+        result.put("meanRows", (double) rows / ITERATIONS);
+        result.put("meanMicros", Arrays.stream(nanos).average().orElse(0) / 1_000);
+        result.put("p50Micros", percentile(nanos, 0.50));
+        result.put("p90Micros", percentile(nanos, 0.90));
+        result.put("p99Micros", percentile(nanos, 0.99));
+        result.put("maxMicros", nanos[nanos.length - 1] / 1_000.0);
+        return result;
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000.0;
+    }
+
+    private static long memberId(Random random) {
+        return 1 + random.nextInt(MEMBERS);
+    }
+
+    private static long teamId(Random random, int teams) {
+        return 1 + random.nextInt(teams);
+    }
+
+    private static long leaveId(Random random) {
+        return 1 + (long) (random.nextDouble() * MEMBERS * LEAVES_PER_MEMBER);
+    }
+
+    private static LocalDate day(Random random) {
+        return FIRST_DAY.plusDays(random.nextInt(LEAVES_PER_MEMBER * LEAVE_SPACING_DAYS));
+    }
+
+    private static String jurisdiction(Random random) {
+        return "J" + random.nextInt(JURISDICTIONS);
+    }
+
+    private static String email(long memberId) {
+        return "member" + memberId + "@example.com";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.agiletools.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures time-to-first-request and resident memory of the packaged application, for the default
+ * jar ({@code target/agile-tools-api-*.jar}) and for the production layout built by
+ * {@code scripts/build-prod.sh} (AOT, CDS archive, {@code prod} profile). Each run starts a fresh
+ * JVM, polls {@code GET /api/teams} until it answers 200 and then reads {@code VmRSS} from
+ * {@code /proc}. Prints one JSON object per variant and writes all of them to
+ * {@code target/benchmark/startup.json}.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec
+ * -Dbenchmark.mainClass=com.agiletools.benchmark.StartupBenchmark} after packaging both variants.
+ */
+public class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("benchmark.startupRuns", 5);
+    private static final Duration TIMEOUT = Duration.ofSeconds(Integer.getInteger("benchmark.startupTimeout", 120));
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path PROD = TARGET.resolve("prod");
+    private static final Path OUTPUT = Path.of("target", "benchmark", "startup.json");
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        Map<String, ProcessBuilder> variants = new LinkedHashMap<>();
+        Path jar = findJar(TARGET);
+        if (jar != null) {
+            variants.put("default", new ProcessBuilder(java, "-jar", jar.toString()));
+        }
+        if (findJar(PROD) != null && Files.exists(PROD.resolve("application.jsa"))) {
+            variants.put("prod", new ProcessBuilder(Path.of("scripts", "start-prod.sh").toString()));
+        } else {
+            System.err.println("Skipping prod: run scripts/build-prod.sh first");
+        }
+        if (variants.isEmpty()) {
+            throw new IllegalStateException("No packaged jar found in target, run mvn package first");
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Map.Entry<String, ProcessBuilder> variant : variants.entrySet()) {
+            Map<String, Object> result = measure(variant.getKey(), variant.getValue());
+            results.add(result);
+            System.out.println(objectMapper.writeValueAsString(result));
+        }
+
+        Files.createDirectories(OUTPUT.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(OUTPUT.toFile(), results);
+    }
+
+    private static Map<String, Object> measure(String name, ProcessBuilder template) throws Exception {
+        long[] millis = new long[RUNS];
+        long[] rssKb = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            int port = freePort();
+            List<String> command = new ArrayList<>(template.command());
+            command.add("--server.port=" + port);
+            command.add("--logging.level.root=WARN");
+
+            long started = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                awaitFirstRequest(process, port);
+                millis[run] = (System.nanoTime() - started) / 1_000_000;
+                rssKb[run] = rssKb(process);
+            } finally {
+                stop(process);
+            }
+            System.err.printf("%s run %d: %d ms, %d MB%n", name, run + 1, millis[run], rssKb[run] / 1024);
+        }
+        Arrays.sort(millis);
+        Arrays.sort(rssKb);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("variant", name);
+        result.put("runs", RUNS);
+        result.put("medianTimeToFirstRequestMillis", millis[RUNS / 2]);
+        result.put("minTimeToFirstRequestMillis", millis[0]);
+        result.put("maxTimeToFirstRequestMillis", millis[RUNS - 1]);
+        result.put("medianRssMegabytes", rssKb[RUNS / 2] / 1024.0);
+        return result;
+    }
+
+    private static void awaitFirstRequest(Process process, int port) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/teams"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue());
+            }
+            try {
+                if (CLIENT.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("Application did not answer within " + TIMEOUT);
+    }
+
+    /**
+     * Resident set size of the JVM. start-prod.sh execs java, so the started process is the JVM in
+     * both variants.
+     */
+    private static long rssKb(Process process) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Path findJar(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().matches("agile-tools-api-.*\\.jar"))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+}
\ No newline at end of file
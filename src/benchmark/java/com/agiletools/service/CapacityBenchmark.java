@@ -0,0 +1,89 @@
+package com.agiletools.service;
+
+import com.agiletools.benchmark.BenchmarkApplication;
+import com.agiletools.benchmark.BenchmarkData;
+import com.agiletools.dto.CapacityDto;
+import com.agiletools.model.TeamMember;
+import com.agiletools.repository.TeamMemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Team capacity for a full year: {@link CapacityService#getTeamCapacity} end to end (including the
+ * member and leave query), and the in-memory availability marking on already loaded members.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CapacityBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    @Param({"10", "50"})
+    private int members;
+
+    private ConfigurableApplicationContext context;
+    private CapacityService capacityService;
+    private CapacityService capacityServiceTarget;
+    private Long teamId;
+    private List<TeamMember> loadedMembers;
+    private int days;
+    private BitSet workingDays;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("capacity");
+        BenchmarkData.seedHolidays(context, 2024);
+        List<Long> memberIds = BenchmarkData.seedTeam(context, "Capacity", members, 26, START);
+
+        capacityService = context.getBean(CapacityService.class);
+        capacityServiceTarget = AopTestUtils.getTargetObject(capacityService);
+        TeamMemberRepository teamMemberRepository = context.getBean(TeamMemberRepository.class);
+        teamId = teamMemberRepository.findWithTeamById(memberIds.get(0)).orElseThrow().getTeam().getId();
+        loadedMembers = teamMemberRepository.findByTeamIdWithLeaves(teamId);
+
+        days = (int) (END.toEpochDay() - START.toEpochDay() + 1);
+        workingDays = CapacityService.workingDays(START, days);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CapacityDto teamCapacity() {
+        return capacityService.getTeamCapacity(teamId, START, END);
+    }
+
+    @Benchmark
+    public void markAvailability(Blackhole blackhole) {
+        BitSet available = new BitSet(days);
+        for (TeamMember member : loadedMembers) {
+            capacityServiceTarget.markAvailability(member, START, days, workingDays, available);
+            blackhole.consume(available.cardinality());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.agiletools.service;
+
+import com.agiletools.benchmark.BenchmarkApplication;
+import com.agiletools.benchmark.BenchmarkData;
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.dto.TeamMemberDto;
+import com.agiletools.model.Leave;
+import com.agiletools.model.Team;
+import com.agiletools.model.TeamMember;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion of a single leave (including its working-day count against a cached
+ * holiday calendar) and a single team member.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoConversionBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int leaveDays;
+
+    private ConfigurableApplicationContext context;
+    private LeaveService leaveService;
+    private TeamMemberService teamMemberService;
+    private Leave leave;
+    private TeamMember member;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("dto-conversion");
+        BenchmarkData.seedHolidays(context, 2024);
+        leaveService = AopTestUtils.getTargetObject(context.getBean(LeaveService.class));
+        teamMemberService = AopTestUtils.getTargetObject(context.getBean(TeamMemberService.class));
+
+        Team team = new Team("Benchmark", null);
+        team.setId(1L);
+
+        member = new TeamMember("Jane", "Doe", "jane.doe@example.com", BenchmarkData.JURISDICTION);
+        member.setId(1L);
+        member.setTeam(team);
+        member.setCreatedAt(LocalDateTime.now());
+        member.setUpdatedAt(LocalDateTime.now());
+
+        LocalDate start = LocalDate.of(2024, 4, 29);
+        leave = new Leave(start, start.plusDays(leaveDays - 1), Leave.LeaveType.ANNUAL_LEAVE, "Holiday");
+        leave.setId(1L);
+        leave.setTeamMember(member);
+        leave.setCreatedAt(LocalDateTime.now());
+        leave.setUpdatedAt(LocalDateTime.now());
+
+        // Load the holiday calendar before measuring.
+        leaveService.convertToDto(leave);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LeaveDto leaveToDto() {
+        return leaveService.convertToDto(leave);
+    }
+
+    @Benchmark
+    public TeamMemberDto memberToDto() {
+        return teamMemberService.convertToDto(member);
+    }
+}
\ No newline at end of file
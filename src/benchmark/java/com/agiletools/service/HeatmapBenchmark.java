@@ -0,0 +1,66 @@
+package com.agiletools.service;
+
+import com.agiletools.benchmark.BenchmarkApplication;
+import com.agiletools.benchmark.BenchmarkData;
+import com.agiletools.dto.HeatmapDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A one-year {@link HeatmapService#getHeatmap} over 40 teams of 10 members, with the fork/join pool
+ * limited to one thread and to {@code maxParallelism} threads, to show how it scales with cores.
+ * The pool never gets more threads than there are cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeatmapBenchmark {
+
+    private static final int TEAMS = 40;
+    private static final int MEMBERS = 10;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    @Param({"1", "8"})
+    private int maxParallelism;
+
+    private ConfigurableApplicationContext context;
+    private HeatmapService heatmapService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("heatmap", "--app.heatmap.max-parallelism=" + maxParallelism);
+        BenchmarkData.seedHolidays(context, 2024);
+        for (int team = 0; team < TEAMS; team++) {
+            BenchmarkData.seedTeam(context, "Heatmap " + team, MEMBERS, 26, START);
+        }
+        heatmapService = context.getBean(HeatmapService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public HeatmapDto heatmap() {
+        return heatmapService.getHeatmap(START, END);
+    }
+}
\ No newline at end of file
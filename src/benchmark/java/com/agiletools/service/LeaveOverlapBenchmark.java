@@ -0,0 +1,92 @@
+package com.agiletools.service;
+
+import com.agiletools.benchmark.BenchmarkApplication;
+import com.agiletools.benchmark.BenchmarkData;
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.model.Leave;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overlap check behind {@link LeaveService#createLeave}: the bare {@link LeaveIntervalIndex}
+ * lookup, and a complete {@code createLeave} call that is rejected because of an overlap (which
+ * includes the member lookup and the surrounding transaction, but writes nothing).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaveOverlapBenchmark {
+
+    private static final int RANGES = 1024;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2000, 1, 1);
+
+    @Param({"10", "100", "1000"})
+    private int leavesPerMember;
+
+    private ConfigurableApplicationContext context;
+    private LeaveService leaveService;
+    private LeaveIntervalIndex leaveIntervalIndex;
+    private Long memberId;
+    private LocalDate[] starts;
+    private LeaveDto[] conflicting;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("leave-overlap");
+        leaveService = context.getBean(LeaveService.class);
+        leaveIntervalIndex = context.getBean(LeaveIntervalIndex.class);
+        memberId = BenchmarkData.seedTeam(context, "Overlap", 1, leavesPerMember, FIRST_DAY).get(0);
+
+        // Every range starts on a seeded leave, so each lookup finds a conflict.
+        Random random = new Random(42);
+        starts = new LocalDate[RANGES];
+        conflicting = new LeaveDto[RANGES];
+        for (int i = 0; i < RANGES; i++) {
+            starts[i] = FIRST_DAY.plusDays((long) random.nextInt(leavesPerMember) * BenchmarkData.LEAVE_SPACING_DAYS
+                    + memberId % 7);
+            conflicting[i] = new LeaveDto(starts[i], starts[i].plusDays(4), Leave.LeaveType.ANNUAL_LEAVE, null);
+            conflicting[i].setTeamMemberId(memberId);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> indexLookup() {
+        LocalDate start = starts[next++ & (RANGES - 1)];
+        return leaveIntervalIndex.findOverlapping(memberId, start, start.plusDays(4));
+    }
+
+    @Benchmark
+    public List<Long> createLeaveRejected() {
+        try {
+            leaveService.createLeave(conflicting[next++ & (RANGES - 1)]);
+            throw new IllegalStateException("Expected an overlapping leave");
+        } catch (LeaveOverlapException e) {
+            return e.getConflictingLeaveIds();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.agiletools.service;
+
+import com.agiletools.benchmark.BenchmarkApplication;
+import com.agiletools.benchmark.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Org-wide "who is out" lookups on the {@link OutOfOfficeIndex} for a single day and for a week,
+ * with 500 members and a growing amount of leave history per member.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutOfOfficeBenchmark {
+
+    private static final int MEMBERS = 500;
+    private static final int DAYS = 1024;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2000, 1, 1);
+
+    @Param({"10", "100", "1000"})
+    private int leavesPerMember;
+
+    private ConfigurableApplicationContext context;
+    private OutOfOfficeIndex outOfOfficeIndex;
+    private LocalDate[] days;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("out-of-office");
+        outOfOfficeIndex = context.getBean(OutOfOfficeIndex.class);
+        BenchmarkData.seedTeam(context, "Out of office", MEMBERS, leavesPerMember, FIRST_DAY);
+
+        Random random = new Random(42);
+        days = new LocalDate[DAYS];
+        for (int i = 0; i < DAYS; i++) {
+            days[i] = FIRST_DAY.plusDays(random.nextInt(leavesPerMember * BenchmarkData.LEAVE_SPACING_DAYS));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> day() {
+        LocalDate day = days[next++ & (DAYS - 1)];
+        return outOfOfficeIndex.findOutOfOffice(day, day);
+    }
+
+    @Benchmark
+    public List<Long> week() {
+        LocalDate day = days[next++ & (DAYS - 1)];
+        return outOfOfficeIndex.findOutOfOffice(day, day.plusDays(6));
+    }
+}
\ No newline at end of file
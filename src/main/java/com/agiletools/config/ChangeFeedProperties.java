@@ -0,0 +1,14 @@
+package com.agiletools.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.change-feed")
+public class ChangeFeedProperties {
+    private Duration safetyLag = Duration.ofSeconds(5);
+}
\ No newline at end of file
@@ -13,5 +13,6 @@ public class CorsConfigurationProperties {
     private List<String> allowedOrigins;
     private List<String> allowedMethods;
     private List<String> allowedHeaders;
+    private List<String> exposedHeaders = List.of();
     private boolean allowCredentials;
 }
\ No newline at end of file
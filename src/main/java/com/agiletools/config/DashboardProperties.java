@@ -0,0 +1,13 @@
+package com.agiletools.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.dashboard")
+public class DashboardProperties {
+    private int maxTeams = 100;
+    private int maxConcurrentQueries = 8;
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.agiletools.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.heatmap")
+public class HeatmapProperties {
+    private int maxParallelism = 8;
+}
\ No newline at end of file
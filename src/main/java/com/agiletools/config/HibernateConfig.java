@@ -0,0 +1,25 @@
+package com.agiletools.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfig {
+
+    /**
+     * Registers {@link StatementCountingSessionListener} only when request metrics are enabled. The
+     * flag is read when the entity manager factory is built rather than through a bean condition,
+     * so it can still be changed at startup of the AOT-processed production build.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer(MetricsProperties metricsProperties) {
+        return properties -> {
+            if (metricsProperties.isEnabled()) {
+                properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                        StatementCountingSessionListener.class.getName());
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.agiletools.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.jobs")
+public class JobProperties {
+    private Duration retention = Duration.ofHours(1);
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.agiletools.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.metrics")
+public class MetricsProperties {
+    /**
+     * Records {@code agiletools.requests*} metrics and counts the SQL statements of every request.
+     */
+    private boolean enabled = true;
+
+    /** Requests executing more SQL statements than this are logged as warnings. */
+    private int sqlStatementWarnThreshold = 20;
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.agiletools.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.pagination")
+public class PaginationProperties {
+    private int defaultPageSize = 100;
+    private int maxPageSize = 1000;
+
+    public int resolveLimit(Integer requestedLimit) {
+        if (requestedLimit == null || requestedLimit < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requestedLimit, maxPageSize);
+    }
+}
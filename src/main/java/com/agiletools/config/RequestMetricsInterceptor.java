@@ -0,0 +1,95 @@
+package com.agiletools.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency and SQL statement count and time per controller method, and logs requests that
+ * run more statements than {@code app.metrics.sql-statement-warn-threshold}. Work done on other
+ * threads (dashboard fan-out, streamed exports) is not attributed to the request.
+ */
+@Component
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".start";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MetricsProperties metricsProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.REQUEST && handler instanceof HandlerMethod) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            SqlStatementStats.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.removeAttribute(START_ATTRIBUTE);
+        SqlStatementStats.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        SqlStatementStats sql = SqlStatementStats.stop();
+
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        String controller = handlerMethod.getBeanType().getSimpleName();
+        String method = handlerMethod.getMethod().getName();
+        Tags tags = Tags.of(
+                "controller", controller,
+                "method", method,
+                "status", String.valueOf(response.getStatus()));
+
+        Timer.builder("agiletools.requests")
+                .description("Time spent handling requests per controller method")
+                .tags(tags)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("agiletools.requests.sql.statements")
+                .description("JDBC statements executed per request")
+                .tags(tags)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(sql.getStatements());
+        Timer.builder("agiletools.requests.sql.time")
+                .description("Time spent executing JDBC statements per request")
+                .tags(tags)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(sql.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (sql.getStatements() > metricsProperties.getSqlStatementWarnThreshold()) {
+            log.warn("{} {} ({}.{}) executed {} SQL statements taking {} ms", request.getMethod(),
+                    request.getRequestURI(), controller, method, sql.getStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(sql.getNanos()));
+        }
+    }
+}
\ No newline at end of file
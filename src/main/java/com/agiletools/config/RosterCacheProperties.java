@@ -0,0 +1,12 @@
+package com.agiletools.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.roster-cache")
+public class RosterCacheProperties {
+    private int maxSize = 1000;
+}
@@ -0,0 +1,43 @@
+package com.agiletools.config;
+
+/**
+ * Number and duration of the JDBC statements executed on the current thread while a request is
+ * being handled. Filled in by {@link StatementCountingSessionListener} and read by
+ * {@link RequestMetricsInterceptor}.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    private SqlStatementStats() {
+    }
+
+    static void start() {
+        CURRENT.set(new SqlStatementStats());
+    }
+
+    static SqlStatementStats stop() {
+        SqlStatementStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats != null ? stats : new SqlStatementStats();
+    }
+
+    static void record(long nanos) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.agiletools.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate creates one instance per session (see {@code hibernate.session.events.auto}, set by
+ * {@link HibernateConfig} when metrics are enabled) and calls it around every JDBC statement and
+ * batch execution.
+ */
+public class StatementCountingSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementStats.record(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementStats.record(System.nanoTime() - batchStart);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.agiletools.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.team-events")
+public class TeamEventProperties {
+    private Duration flushInterval = Duration.ofMillis(250);
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+    private Duration subscriptionTimeout = Duration.ofMinutes(30);
+    private int subscriberBufferSize = 64;
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.agiletools.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TransactionConfig {
+
+    /**
+     * Replaces the JPA transaction manager Spring Boot would create, customized the same way.
+     */
+    @Bean
+    public WriteTrackingTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers,
+            ChangeFeedProperties changeFeedProperties) {
+        WriteTrackingTransactionManager transactionManager = new WriteTrackingTransactionManager(changeFeedProperties);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
\ No newline at end of file
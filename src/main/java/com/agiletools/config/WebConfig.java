@@ -1,8 +1,16 @@
 package com.agiletools.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -11,12 +19,47 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private CorsConfigurationProperties corsProperties;
 
+    @Autowired
+    private RequestMetricsInterceptor requestMetricsInterceptor;
+
+    @Autowired
+    private MetricsProperties metricsProperties;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins(corsProperties.getAllowedOrigins().toArray(new String[0]))
                 .allowedMethods(corsProperties.getAllowedMethods().toArray(new String[0]))
                 .allowedHeaders(corsProperties.getAllowedHeaders().toArray(new String[0]))
+                .exposedHeaders(corsProperties.getExposedHeaders().toArray(new String[0]))
                 .allowCredentials(corsProperties.isAllowCredentials());
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (metricsProperties.isEnabled()) {
+            registry.addInterceptor(requestMetricsInterceptor).addPathPatterns("/api/**");
+        }
+    }
+
+    /**
+     * Serves {@code application/cbor} to clients that ask for it, with the same Jackson settings as
+     * the JSON responses.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Serves {@code application/x-jackson-smile}. Repeated string values such as member names and
+     * dates are written once and referenced afterwards.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory).build());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.agiletools.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each write transaction of this instance began until it completes, so the change
+ * feed can hold back changes that an open transaction may still commit behind. Write transactions
+ * that run longer than the change feed's safety lag are logged, since on another instance the feed
+ * would not wait for them.
+ */
+public class WriteTrackingTransactionManager extends JpaTransactionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteTrackingTransactionManager.class);
+
+    private final Map<Object, LocalDateTime> openWrites = new ConcurrentHashMap<>();
+
+    private final ChangeFeedProperties changeFeedProperties;
+
+    public WriteTrackingTransactionManager(ChangeFeedProperties changeFeedProperties) {
+        this.changeFeedProperties = changeFeedProperties;
+    }
+
+    public Optional<LocalDateTime> oldestOpenWriteStart() {
+        return openWrites.values().stream().min(Comparator.naturalOrder());
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        if (!definition.isReadOnly()) {
+            // Taken before anything is written, so every timestamp of the transaction is later.
+            openWrites.put(transaction, LocalDateTime.now());
+        }
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException e) {
+            openWrites.remove(transaction);
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            LocalDateTime start = openWrites.remove(transaction);
+            if (start != null) {
+                Duration duration = Duration.between(start, LocalDateTime.now());
+                if (duration.compareTo(changeFeedProperties.getSafetyLag()) > 0) {
+                    log.warn("Write transaction took {} ms, longer than the change feed safety lag of {} ms",
+                            duration.toMillis(), changeFeedProperties.getSafetyLag().toMillis());
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
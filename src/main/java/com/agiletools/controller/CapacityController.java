@@ -0,0 +1,72 @@
+package com.agiletools.controller;
+
+import com.agiletools.dto.CapacityDto;
+import com.agiletools.dto.CapacityRebuildDto;
+import com.agiletools.dto.DailyCapacityDto;
+import com.agiletools.dto.HeatmapDto;
+import com.agiletools.service.CapacityAggregateService;
+import com.agiletools.service.CapacityService;
+import com.agiletools.service.HeatmapService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/capacity")
+public class CapacityController {
+
+    @Autowired
+    private CapacityService capacityService;
+
+    @Autowired
+    private CapacityAggregateService capacityAggregateService;
+
+    @Autowired
+    private HeatmapService heatmapService;
+
+    @GetMapping("/team/{teamId}")
+    public ResponseEntity<CapacityDto> getTeamCapacity(
+            @PathVariable Long teamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            CapacityDto capacity = capacityService.getTeamCapacity(teamId, startDate, endDate);
+            return ResponseEntity.ok(capacity);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/team/{teamId}/daily")
+    public ResponseEntity<DailyCapacityDto> getDailyCapacity(
+            @PathVariable Long teamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            DailyCapacityDto capacity = capacityAggregateService.getDailyCapacity(teamId, startDate, endDate);
+            return ResponseEntity.ok(capacity);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/heatmap")
+    public ResponseEntity<HeatmapDto> getHeatmap(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            HeatmapDto heatmap = heatmapService.getHeatmap(startDate, endDate);
+            return ResponseEntity.ok(heatmap);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/aggregates/rebuild")
+    public ResponseEntity<CapacityRebuildDto> rebuildAggregates() {
+        return ResponseEntity.ok(capacityAggregateService.rebuild());
+    }
+}
\ No newline at end of file
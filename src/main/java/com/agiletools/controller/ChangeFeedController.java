@@ -0,0 +1,31 @@
+package com.agiletools.controller;
+
+import com.agiletools.config.PaginationProperties;
+import com.agiletools.dto.ChangeFeedDto;
+import com.agiletools.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    @GetMapping
+    public ResponseEntity<ChangeFeedDto> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            ChangeFeedDto changes = changeFeedService.getChanges(since, paginationProperties.resolveLimit(limit));
+            return ResponseEntity.ok(changes);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.agiletools.controller;
+
+import org.springframework.web.context.request.WebRequest;
+
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Sets the ETag of the response and returns whether the client's {@code If-None-Match} already
+     * matches it, in which case the response has been turned into a 304 and the handler should return
+     * {@code null} without loading anything. A {@code null} tag (missing resource) never matches.
+     *
+     * <p>The tag is sent as a weak validator: it stands for the data, which is the same whether it
+     * is encoded as JSON, CBOR or Smile and whether it is compressed. Tomcat also refuses to compress
+     * responses carrying a strong ETag.
+     */
+    static boolean notModified(WebRequest request, String etag) {
+        return etag != null && request.checkNotModified("W/\"" + etag + "\"");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.agiletools.controller;
+
+import com.agiletools.dto.HolidayMigrationDto;
+import com.agiletools.dto.PublicHolidayDto;
+import com.agiletools.service.HolidayCalendarService;
+import com.agiletools.service.LeaveService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/holidays")
+public class HolidayController {
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @GetMapping
+    public ResponseEntity<List<PublicHolidayDto>> getHolidays(@RequestParam String jurisdiction, @RequestParam int year) {
+        List<PublicHolidayDto> holidays = holidayCalendarService.getHolidays(jurisdiction, year);
+        return ResponseEntity.ok(holidays);
+    }
+
+    @PostMapping
+    public ResponseEntity<PublicHolidayDto> createHoliday(@Valid @RequestBody PublicHolidayDto holidayDto) {
+        try {
+            PublicHolidayDto createdHoliday = holidayCalendarService.createHoliday(holidayDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdHoliday);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/migrate-leaves")
+    public ResponseEntity<HolidayMigrationDto> migratePublicHolidayLeaves() {
+        return ResponseEntity.ok(leaveService.migratePublicHolidayLeaves());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteHoliday(@PathVariable Long id) {
+        try {
+            holidayCalendarService.deleteHoliday(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.agiletools.controller;
+
+import com.agiletools.dto.JobDto;
+import com.agiletools.service.JobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    @Autowired
+    private JobService jobService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobDto> getJob(@PathVariable Long id) {
+        try {
+            JobDto job = jobService.getJob(id);
+            return ResponseEntity.ok(job);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.agiletools.controller;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+final class KeysetPage {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private KeysetPage() {
+    }
+
+    /**
+     * Wraps one page of results. A full page carries the id of its last item in the
+     * {@value #NEXT_CURSOR_HEADER} header, to be passed back as {@code after} for the next page.
+     */
+    static <T> ResponseEntity<List<T>> ok(List<T> items, int limit, Function<T, Long> idExtractor) {
+        if (items.size() < limit) {
+            return ResponseEntity.ok(items);
+        }
+        Long nextCursor = idExtractor.apply(items.get(items.size() - 1));
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, String.valueOf(nextCursor))
+                .body(items);
+    }
+}
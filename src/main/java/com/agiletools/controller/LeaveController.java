@@ -1,13 +1,24 @@
 package com.agiletools.controller;
 
+import com.agiletools.dto.BatchLookupDto;
+import com.agiletools.dto.BulkResultDto;
+import com.agiletools.dto.LeaveConflictDto;
+import com.agiletools.config.PaginationProperties;
 import com.agiletools.dto.LeaveDto;
+import com.agiletools.service.LeaveOverlapException;
 import com.agiletools.service.LeaveService;
+import com.agiletools.service.PreconditionFailedException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,35 +30,97 @@ public class LeaveController {
     @Autowired
     private LeaveService leaveService;
 
+    @Autowired
+    private PaginationProperties paginationProperties;
+
     @GetMapping
-    public ResponseEntity<List<LeaveDto>> getAllLeaves() {
-        List<LeaveDto> leaves = leaveService.getAllLeaves();
-        return ResponseEntity.ok(leaves);
+    public ResponseEntity<List<LeaveDto>> getAllLeaves(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        if (ConditionalRequests.notModified(request, leaveService.getLeavesETag(after, pageSize))) {
+            return null;
+        }
+        List<LeaveDto> leaves = leaveService.getAllLeaves(after, pageSize);
+        return KeysetPage.ok(leaves, pageSize, LeaveDto::getId);
     }
 
     @GetMapping("/member/{teamMemberId}")
-    public ResponseEntity<List<LeaveDto>> getLeavesByMember(@PathVariable Long teamMemberId) {
-        List<LeaveDto> leaves = leaveService.getLeavesByMember(teamMemberId);
-        return ResponseEntity.ok(leaves);
+    public ResponseEntity<List<LeaveDto>> getLeavesByMember(
+            @PathVariable Long teamMemberId,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        if (ConditionalRequests.notModified(request, leaveService.getLeavesByMemberETag(teamMemberId, after, pageSize))) {
+            return null;
+        }
+        List<LeaveDto> leaves = leaveService.getLeavesByMember(teamMemberId, after, pageSize);
+        return KeysetPage.ok(leaves, pageSize, LeaveDto::getId);
     }
 
     @GetMapping("/team/{teamId}")
-    public ResponseEntity<List<LeaveDto>> getLeavesByTeam(@PathVariable Long teamId) {
-        List<LeaveDto> leaves = leaveService.getLeavesByTeam(teamId);
-        return ResponseEntity.ok(leaves);
+    public ResponseEntity<List<LeaveDto>> getLeavesByTeam(
+            @PathVariable Long teamId,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        if (ConditionalRequests.notModified(request, leaveService.getLeavesByTeamETag(teamId, after, pageSize))) {
+            return null;
+        }
+        List<LeaveDto> leaves = leaveService.getLeavesByTeam(teamId, after, pageSize);
+        return KeysetPage.ok(leaves, pageSize, LeaveDto::getId);
     }
 
     @GetMapping("/team/{teamId}/period")
     public ResponseEntity<List<LeaveDto>> getTeamLeavesInPeriod(
             @PathVariable Long teamId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<LeaveDto> leaves = leaveService.getTeamLeavesInPeriod(teamId, startDate, endDate);
-        return ResponseEntity.ok(leaves);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        String etag = leaveService.getTeamLeavesInPeriodETag(teamId, startDate, endDate, after, pageSize);
+        if (ConditionalRequests.notModified(request, etag)) {
+            return null;
+        }
+        List<LeaveDto> leaves = leaveService.getTeamLeavesInPeriod(teamId, startDate, endDate, after, pageSize);
+        return KeysetPage.ok(leaves, pageSize, LeaveDto::getId);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLeaves(
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) Long teamMemberId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        StreamingResponseBody body = out -> leaveService.exportLeaves(teamId, teamMemberId, startDate, endDate, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<BatchLookupDto<LeaveDto>> getLeavesByIds(@RequestParam List<Long> ids) {
+        return lookupLeaves(ids);
+    }
+
+    /**
+     * Same as the GET variant, for id lists too long for a query string.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchLookupDto<LeaveDto>> postLeavesByIds(@RequestBody List<Long> ids) {
+        return lookupLeaves(ids);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<LeaveDto> getLeaveById(@PathVariable Long id) {
+    public ResponseEntity<LeaveDto> getLeaveById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalRequests.notModified(request, leaveService.getLeaveETag(id))) {
+            return null;
+        }
         try {
             LeaveDto leave = leaveService.getLeaveById(id);
             return ResponseEntity.ok(leave);
@@ -57,20 +130,42 @@ public class LeaveController {
     }
 
     @PostMapping
-    public ResponseEntity<LeaveDto> createLeave(@Valid @RequestBody LeaveDto leaveDto) {
+    public ResponseEntity<?> createLeave(@Valid @RequestBody LeaveDto leaveDto) {
         try {
             LeaveDto createdLeave = leaveService.createLeave(leaveDto);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdLeave);
+        } catch (LeaveOverlapException e) {
+            return conflict(e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultDto> createLeaves(@RequestBody List<LeaveDto> leaveDtos) {
+        try {
+            BulkResultDto result = leaveService.createLeaves(leaveDtos);
+            return ResponseEntity.ok(result);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<LeaveDto> updateLeave(@PathVariable Long id, @Valid @RequestBody LeaveDto leaveDto) {
+    public ResponseEntity<?> updateLeave(
+            @PathVariable Long id,
+            @Valid @RequestBody LeaveDto leaveDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            LeaveDto updatedLeave = leaveService.updateLeave(id, leaveDto);
+            LeaveDto updatedLeave = OptimisticRetry.update(ifMatch, leaveDto.getVersion(),
+                    () -> leaveService.updateLeave(id, leaveDto, ifMatch));
             return ResponseEntity.ok(updatedLeave);
+        } catch (LeaveOverlapException e) {
+            return conflict(e);
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -85,4 +180,18 @@ public class LeaveController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private ResponseEntity<LeaveConflictDto> conflict(LeaveOverlapException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new LeaveConflictDto(e.getMessage(), e.getConflictingLeaveIds()));
+    }
+
+    private ResponseEntity<BatchLookupDto<LeaveDto>> lookupLeaves(List<Long> ids) {
+        try {
+            BatchLookupDto<LeaveDto> result = leaveService.getLeavesByIds(ids);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.agiletools.controller;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.function.Supplier;
+
+final class OptimisticRetry {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private OptimisticRetry() {
+    }
+
+    /**
+     * Runs an update, retrying it in a fresh transaction when a concurrent write bumped the version
+     * between read and flush. Only unconditional updates are retried: when the client named the state
+     * it expects, through {@code If-Match} or the {@code version} in the body, the conflict is
+     * reported instead, since retrying would overwrite changes the client has not seen.
+     */
+    static <T> T update(String ifMatch, Long version, Supplier<T> update) {
+        if (ifMatch != null || version != null) {
+            return update.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return update.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.agiletools.controller;
+
+import com.agiletools.dto.OutOfOfficeDto;
+import com.agiletools.service.TeamMemberService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+@RestController
+@RequestMapping("/api/out-of-office")
+public class OutOfOfficeController {
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    /**
+     * Who is out across all teams on {@code date}, during the ISO {@code week} (e.g. 2024-W07) or
+     * between {@code startDate} and {@code endDate}. Exactly one of the three forms must be given.
+     */
+    @GetMapping
+    public ResponseEntity<OutOfOfficeDto> getOutOfOffice(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String week,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean details) {
+        try {
+            if (date != null && week == null && startDate == null && endDate == null) {
+                startDate = date;
+                endDate = date;
+            } else if (week != null && date == null && startDate == null && endDate == null) {
+                startDate = LocalDate.parse(week + "-1", DateTimeFormatter.ISO_WEEK_DATE);
+                endDate = startDate.plusDays(6);
+            } else if (date != null || week != null || startDate == null || endDate == null) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            OutOfOfficeDto outOfOffice = teamMemberService.getOutOfOffice(startDate, endDate, details);
+            return ResponseEntity.ok(outOfOffice);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.agiletools.controller;
+
+import com.agiletools.config.PaginationProperties;
+import com.agiletools.dto.SprintCapacityDto;
+import com.agiletools.dto.SprintDto;
+import com.agiletools.service.SprintService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sprints")
+public class SprintController {
+
+    @Autowired
+    private SprintService sprintService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    /**
+     * Latest sprints first; the {@code X-Next-Cursor} header is passed back as {@code before}.
+     */
+    @GetMapping("/team/{teamId}")
+    public ResponseEntity<List<SprintDto>> getSprintHistory(
+            @PathVariable Long teamId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        List<SprintDto> sprints = sprintService.getSprintHistory(teamId, before != null ? before : Long.MAX_VALUE, pageSize);
+        return KeysetPage.ok(sprints, pageSize, SprintDto::getId);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SprintDto> getSprintById(@PathVariable Long id) {
+        try {
+            SprintDto sprint = sprintService.getSprintById(id);
+            return ResponseEntity.ok(sprint);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{id}/capacity")
+    public ResponseEntity<SprintCapacityDto> getSprintCapacity(@PathVariable Long id) {
+        try {
+            SprintCapacityDto capacity = sprintService.getSprintCapacity(id);
+            return ResponseEntity.ok(capacity);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<SprintDto> createSprint(@Valid @RequestBody SprintDto sprintDto) {
+        try {
+            SprintDto createdSprint = sprintService.createSprint(sprintDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdSprint);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<SprintDto> updateSprint(@PathVariable Long id, @Valid @RequestBody SprintDto sprintDto) {
+        try {
+            SprintDto updatedSprint = sprintService.updateSprint(id, sprintDto);
+            return ResponseEntity.ok(updatedSprint);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{id}/start")
+    public ResponseEntity<SprintDto> startSprint(@PathVariable Long id) {
+        try {
+            SprintDto sprint = sprintService.startSprint(id);
+            return ResponseEntity.ok(sprint);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<SprintDto> completeSprint(@PathVariable Long id) {
+        try {
+            SprintDto sprint = sprintService.completeSprint(id);
+            return ResponseEntity.ok(sprint);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSprint(@PathVariable Long id) {
+        try {
+            sprintService.deleteSprint(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
\ No newline at end of file
@@ -1,13 +1,26 @@
 package com.agiletools.controller;
 
+import com.agiletools.config.PaginationProperties;
+import com.agiletools.dto.BatchLookupDto;
+import com.agiletools.dto.CacheStatsDto;
+import com.agiletools.dto.JobDto;
 import com.agiletools.dto.TeamDto;
+import com.agiletools.service.JobService;
+import com.agiletools.service.PreconditionFailedException;
+import com.agiletools.service.TeamEventBroadcaster;
 import com.agiletools.service.TeamService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -17,17 +30,70 @@ public class TeamController {
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private TeamEventBroadcaster teamEventBroadcaster;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
     @GetMapping
-    public ResponseEntity<List<TeamDto>> getAllTeams() {
-        List<TeamDto> teams = teamService.getAllTeams();
-        return ResponseEntity.ok(teams);
+    public ResponseEntity<List<TeamDto>> getAllTeams(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        if (ConditionalRequests.notModified(request, teamService.getTeamsETag(after, pageSize))) {
+            return null;
+        }
+        List<TeamDto> teams = teamService.getAllTeams(after, pageSize);
+        return KeysetPage.ok(teams, pageSize, TeamDto::getId);
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<BatchLookupDto<TeamDto>> getTeamsByIds(@RequestParam List<Long> ids) {
+        return lookupTeams(ids);
+    }
+
+    /**
+     * Same as the GET variant, for id lists too long for a query string.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchLookupDto<TeamDto>> postTeamsByIds(@RequestBody List<Long> ids) {
+        return lookupTeams(ids);
+    }
+
+    @GetMapping("/roster-cache/stats")
+    public ResponseEntity<CacheStatsDto> getRosterCacheStats() {
+        return ResponseEntity.ok(teamService.getRosterCacheStats());
+    }
+
+    /**
+     * Streams batches of committed leave and roster changes of the team as Server-Sent Events.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToTeamEvents(@PathVariable Long id) {
+        try {
+            teamService.getTeamById(id);
+            return ResponseEntity.ok(teamEventBroadcaster.subscribe(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TeamDto> getTeamById(@PathVariable Long id) {
+    public ResponseEntity<TeamDto> getTeamById(@PathVariable Long id, WebRequest request) {
         try {
-            TeamDto team = teamService.getTeamById(id);
-            return ResponseEntity.ok(team);
+            String etag = teamService.getTeamETag(id);
+            if (etag == null) {
+                return ResponseEntity.notFound().build();
+            }
+            if (ConditionalRequests.notModified(request, etag)) {
+                return null;
+            }
+            return ResponseEntity.ok(teamService.getTeamById(id));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -44,22 +110,48 @@ public class TeamController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TeamDto> updateTeam(@PathVariable Long id, @Valid @RequestBody TeamDto teamDto) {
+    public ResponseEntity<TeamDto> updateTeam(
+            @PathVariable Long id,
+            @Valid @RequestBody TeamDto teamDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            TeamDto updatedTeam = teamService.updateTeam(id, teamDto);
+            TeamDto updatedTeam = OptimisticRetry.update(ifMatch, teamDto.getVersion(),
+                    () -> teamService.updateTeam(id, teamDto, ifMatch));
             return ResponseEntity.ok(updatedTeam);
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Deletes the team with its members and leaves. With {@code async=true} the deletion runs as a
+     * background job and the response is {@code 202 Accepted} pointing at the job's status.
+     */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTeam(@PathVariable Long id) {
+    public ResponseEntity<?> deleteTeam(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean async) {
         try {
+            if (async) {
+                teamService.getTeamById(id);
+                JobDto job = jobService.submit(JobDto.Type.DELETE_TEAM, id, () -> teamService.deleteTeam(id));
+                return ResponseEntity.accepted().location(URI.create("/api/jobs/" + job.getId())).body(job);
+            }
             teamService.deleteTeam(id);
             return ResponseEntity.noContent().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private ResponseEntity<BatchLookupDto<TeamDto>> lookupTeams(List<Long> ids) {
+        try {
+            BatchLookupDto<TeamDto> result = teamService.getTeamsByIds(ids);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
\ No newline at end of file
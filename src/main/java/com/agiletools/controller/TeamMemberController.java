@@ -1,12 +1,19 @@
 package com.agiletools.controller;
 
+import com.agiletools.config.PaginationProperties;
+import com.agiletools.dto.BatchLookupDto;
+import com.agiletools.dto.BulkResultDto;
 import com.agiletools.dto.TeamMemberDto;
+import com.agiletools.service.PreconditionFailedException;
 import com.agiletools.service.TeamMemberService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,20 +24,54 @@ public class TeamMemberController {
     @Autowired
     private TeamMemberService teamMemberService;
 
+    @Autowired
+    private PaginationProperties paginationProperties;
+
     @GetMapping
-    public ResponseEntity<List<TeamMemberDto>> getAllMembers() {
-        List<TeamMemberDto> members = teamMemberService.getAllMembers();
-        return ResponseEntity.ok(members);
+    public ResponseEntity<List<TeamMemberDto>> getAllMembers(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        if (ConditionalRequests.notModified(request, teamMemberService.getMembersETag(after, pageSize))) {
+            return null;
+        }
+        List<TeamMemberDto> members = teamMemberService.getAllMembers(after, pageSize);
+        return KeysetPage.ok(members, pageSize, TeamMemberDto::getId);
     }
 
     @GetMapping("/team/{teamId}")
-    public ResponseEntity<List<TeamMemberDto>> getMembersByTeam(@PathVariable Long teamId) {
-        List<TeamMemberDto> members = teamMemberService.getMembersByTeam(teamId);
-        return ResponseEntity.ok(members);
+    public ResponseEntity<List<TeamMemberDto>> getMembersByTeam(
+            @PathVariable Long teamId,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        if (ConditionalRequests.notModified(request, teamMemberService.getMembersByTeamETag(teamId, after, pageSize))) {
+            return null;
+        }
+        List<TeamMemberDto> members = teamMemberService.getMembersByTeam(teamId, after, pageSize);
+        return KeysetPage.ok(members, pageSize, TeamMemberDto::getId);
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<BatchLookupDto<TeamMemberDto>> getMembersByIds(@RequestParam List<Long> ids) {
+        return lookupMembers(ids);
+    }
+
+    /**
+     * Same as the GET variant, for id lists too long for a query string.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchLookupDto<TeamMemberDto>> postMembersByIds(@RequestBody List<Long> ids) {
+        return lookupMembers(ids);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TeamMemberDto> getMemberById(@PathVariable Long id) {
+    public ResponseEntity<TeamMemberDto> getMemberById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalRequests.notModified(request, teamMemberService.getMemberETag(id))) {
+            return null;
+        }
         try {
             TeamMemberDto member = teamMemberService.getMemberById(id);
             return ResponseEntity.ok(member);
@@ -49,11 +90,29 @@ public class TeamMemberController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultDto> createMembers(@RequestBody List<TeamMemberDto> memberDtos) {
+        try {
+            BulkResultDto result = teamMemberService.createMembers(memberDtos);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<TeamMemberDto> updateMember(@PathVariable Long id, @Valid @RequestBody TeamMemberDto memberDto) {
+    public ResponseEntity<TeamMemberDto> updateMember(
+            @PathVariable Long id,
+            @Valid @RequestBody TeamMemberDto memberDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            TeamMemberDto updatedMember = teamMemberService.updateMember(id, memberDto);
+            TeamMemberDto updatedMember = OptimisticRetry.update(ifMatch, memberDto.getVersion(),
+                    () -> teamMemberService.updateMember(id, memberDto, ifMatch));
             return ResponseEntity.ok(updatedMember);
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -68,4 +127,13 @@ public class TeamMemberController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private ResponseEntity<BatchLookupDto<TeamMemberDto>> lookupMembers(List<Long> ids) {
+        try {
+            BatchLookupDto<TeamMemberDto> result = teamMemberService.getMembersByIds(ids);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
\ No newline at end of file
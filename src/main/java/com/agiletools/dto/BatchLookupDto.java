@@ -0,0 +1,20 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchLookupDto<T> {
+
+    /** The entities found, in the order their ids were requested, without duplicates. */
+    private List<T> items;
+
+    /** Requested ids that do not exist, in request order. */
+    private List<Long> missingIds;
+}
\ No newline at end of file
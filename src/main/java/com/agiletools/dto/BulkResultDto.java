@@ -0,0 +1,29 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkResultDto {
+
+    private int accepted;
+    private int rejected;
+    private List<BulkRowResultDto> rows;
+
+    public BulkResultDto(List<BulkRowResultDto> rows) {
+        this.rows = rows;
+        for (BulkRowResultDto row : rows) {
+            if (row.getStatus() == BulkRowResultDto.Status.ACCEPTED) {
+                accepted++;
+            } else {
+                rejected++;
+            }
+        }
+    }
+}
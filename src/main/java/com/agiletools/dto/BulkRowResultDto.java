@@ -0,0 +1,31 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRowResultDto {
+
+    private int index;
+    private Status status;
+    private Long id;
+    private String error;
+
+    public static BulkRowResultDto accepted(int index) {
+        return new BulkRowResultDto(index, Status.ACCEPTED, null, null);
+    }
+
+    public static BulkRowResultDto rejected(int index, String error) {
+        return new BulkRowResultDto(index, Status.REJECTED, null, error);
+    }
+
+    public enum Status {
+        ACCEPTED,
+        REJECTED
+    }
+}
@@ -0,0 +1,29 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CapacityDto {
+
+    private Long teamId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int workingDays;
+    private double totalPersonDays;
+
+    /**
+     * Available person-days for each calendar day from {@code startDate} to {@code endDate},
+     * indexed by offset from {@code startDate}.
+     */
+    private double[] dailyPersonDays;
+
+    private List<MemberCapacityDto> members;
+}
@@ -0,0 +1,19 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CapacityRebuildDto {
+
+    private int teams;
+    private int rows;
+
+    /** Rows that were missing, superfluous or had different values before the rebuild. */
+    private int mismatches;
+}
\ No newline at end of file
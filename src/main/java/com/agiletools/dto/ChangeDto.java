@@ -0,0 +1,31 @@
+package com.agiletools.dto;
+
+import com.agiletools.model.Tombstone;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeDto {
+
+    /** Position of this change in the feed; passing it as {@code since} resumes right after it. */
+    private String cursor;
+
+    private Tombstone.EntityType type;
+    private Operation operation;
+    private Long entityId;
+    private LocalDateTime changedAt;
+
+    /** The current {@link TeamDto}, {@link TeamMemberDto} or {@link LeaveDto}, or {@code null} for a deletion. */
+    private Object entity;
+
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeFeedDto {
+
+    private List<ChangeDto> changes;
+
+    /** Cursor to pass as {@code since} on the next call, also when there were no changes. */
+    private String nextCursor;
+
+    private boolean hasMore;
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.agiletools.dto;
+
+import com.agiletools.model.Leave;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyCapacityDto {
+
+    private Long teamId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int workingDays;
+    private double totalPersonDays;
+
+    /**
+     * Available person-days for each calendar day from {@code startDate} to {@code endDate},
+     * indexed by offset from {@code startDate}.
+     */
+    private double[] dailyPersonDays;
+
+    /**
+     * Number of members out on each day, per leave type, indexed like {@code dailyPersonDays}. Only
+     * leave types with at least one member out in the period are present.
+     */
+    private Map<Leave.LeaveType, int[]> peopleOut;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardDto {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<TeamDashboardDto> teams;
+}
\ No newline at end of file
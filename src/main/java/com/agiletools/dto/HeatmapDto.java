@@ -0,0 +1,35 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDate;
+
+/**
+ * Availability of every team on every day of a period, as parallel arrays rather than one object
+ * per team and day. Row {@code i} of {@code personDays} belongs to {@code teamIds[i]}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HeatmapDto {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long[] teamIds;
+    private String[] teamNames;
+
+    /**
+     * Sum of the members' capacity percentages per team, as person-days: the most a team can have
+     * available on one day.
+     */
+    private double[] capacity;
+
+    /**
+     * Available person-days per team and calendar day from {@code startDate} to {@code endDate},
+     * indexed by offset from {@code startDate}.
+     */
+    private double[][] personDays;
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HolidayMigrationDto {
+
+    /** PUBLIC_HOLIDAY leaves moved into their member's jurisdiction calendar. */
+    private int leavesMigrated;
+
+    /** PUBLIC_HOLIDAY leaves of members without a jurisdiction, kept as OTHER leave. */
+    private int leavesRetyped;
+
+    private int holidaysCreated;
+}
\ No newline at end of file
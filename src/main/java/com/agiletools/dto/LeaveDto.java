@@ -16,6 +16,7 @@ import java.time.LocalDateTime;
 public class LeaveDto {
 
     private Long id;
+    private Long version;
 
     @NotNull(message = "Start date is required")
     private LocalDate startDate;
@@ -27,6 +28,7 @@ public class LeaveDto {
     private String description;
     private Long teamMemberId;
     private String teamMemberName;
+    private Integer workingDays;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -0,0 +1,19 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MemberCapacityDto {
+
+    private Long teamMemberId;
+    private String teamMemberName;
+    private Double capacityPercentage;
+    private int availableDays;
+    private double personDays;
+}
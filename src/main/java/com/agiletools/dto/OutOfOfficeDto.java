@@ -0,0 +1,29 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutOfOfficeDto {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int count;
+
+    /**
+     * Members on leave on at least one day from {@code startDate} to {@code endDate}, ascending.
+     */
+    private List<Long> teamMemberIds;
+
+    /**
+     * The same members with their details, only filled in when requested.
+     */
+    private List<TeamMemberDto> members;
+}
\ No newline at end of file
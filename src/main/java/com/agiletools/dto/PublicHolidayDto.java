@@ -0,0 +1,29 @@
+package com.agiletools.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PublicHolidayDto {
+
+    private Long id;
+
+    @NotBlank(message = "Jurisdiction is required")
+    private String jurisdiction;
+
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    private String name;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
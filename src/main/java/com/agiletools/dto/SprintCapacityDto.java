@@ -0,0 +1,31 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SprintCapacityDto {
+
+    private Long sprintId;
+    private Long teamId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int workingDays;
+
+    /** When the capacity was frozen, or {@code null} for a sprint that has not started yet. */
+    private LocalDateTime snapshotAt;
+
+    private double snapshotPersonDays;
+    private double currentPersonDays;
+    private int changes;
+    private double[] dailyPersonDays;
+    private List<SprintMemberCapacityDto> members;
+}
\ No newline at end of file
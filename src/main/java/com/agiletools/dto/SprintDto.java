@@ -0,0 +1,45 @@
+package com.agiletools.dto;
+
+import com.agiletools.model.Sprint;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SprintDto {
+
+    private Long id;
+    private Long version;
+
+    @NotBlank(message = "Sprint name is required")
+    private String name;
+
+    @NotNull(message = "Team is required")
+    private Long teamId;
+
+    private String teamName;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    private Integer workingDays;
+    private Sprint.SprintStatus status;
+    private Double committedPoints;
+    private Double completedPoints;
+    private LocalDateTime snapshotAt;
+    private Double snapshotPersonDays;
+    private Double currentPersonDays;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SprintMemberCapacityDto {
+
+    private Long teamMemberId;
+    private String memberName;
+    private Double capacityPercentage;
+    private int snapshotDays;
+    private int currentDays;
+    private double currentPersonDays;
+}
\ No newline at end of file
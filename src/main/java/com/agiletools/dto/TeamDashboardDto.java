@@ -0,0 +1,18 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamDashboardDto {
+
+    private TeamDto team;
+    private List<LeaveDto> leaves;
+    private CapacityDto capacity;
+}
\ No newline at end of file
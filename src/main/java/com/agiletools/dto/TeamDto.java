@@ -11,10 +11,11 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class TeamDto {
 
     private Long id;
+    private Long version;
 
     @NotBlank(message = "Team name is required")
     private String name;
@@ -0,0 +1,17 @@
+package com.agiletools.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamEventBatchDto {
+
+    private Long teamId;
+    private List<TeamEventDto> events;
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.agiletools.dto;
+
+import com.agiletools.model.Tombstone;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamEventDto {
+
+    private Tombstone.EntityType type;
+    private ChangeDto.Operation operation;
+    private Long entityId;
+}
\ No newline at end of file
@@ -12,10 +12,11 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class TeamMemberDto {
 
     private Long id;
+    private Long version;
 
     @NotBlank(message = "First name is required")
     private String firstName;
@@ -12,13 +12,20 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "leaves")
+@Table(name = "leaves", indexes = {
+        @Index(name = "idx_leaves_member_dates", columnList = "team_member_id, start_date, end_date"),
+        @Index(name = "idx_leaves_updated_at", columnList = "updated_at, id")
+})
 public class Leave {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_seq")
+    @SequenceGenerator(name = "leave_seq", sequenceName = "leaves_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotNull(message = "Start date is required")
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
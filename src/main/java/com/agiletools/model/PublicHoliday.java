@@ -0,0 +1,56 @@
+package com.agiletools.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "public_holidays",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"jurisdiction", "holiday_date"}))
+public class PublicHoliday {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Jurisdiction is required")
+    @Column(nullable = false)
+    private String jurisdiction;
+
+    @NotNull(message = "Date is required")
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate date;
+
+    private String name;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public PublicHoliday(String jurisdiction, LocalDate date, String name) {
+        this.jurisdiction = jurisdiction;
+        this.date = date;
+        this.name = name;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,100 @@
+package com.agiletools.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A sprint of one team. Starting a sprint freezes the availability of its members in
+ * {@link SprintMemberSnapshot} rows; leave changes after that are recorded as
+ * {@link SprintCapacityDelta} rows and folded into {@code currentPersonDays}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "sprints", indexes = {
+        @Index(name = "idx_sprints_team_dates", columnList = "team_id, start_date, end_date")
+})
+public class Sprint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sprint_seq")
+    @SequenceGenerator(name = "sprint_seq", sequenceName = "sprints_seq", allocationSize = 50)
+    private Long id;
+
+    @Version
+    private Long version;
+
+    @NotBlank(message = "Sprint name is required")
+    @Column(nullable = false)
+    private String name;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id", nullable = false)
+    private Team team;
+
+    @NotNull(message = "Start date is required")
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "working_days", nullable = false)
+    private int workingDays;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SprintStatus status = SprintStatus.PLANNED;
+
+    @Column(name = "committed_points")
+    private Double committedPoints;
+
+    @Column(name = "completed_points")
+    private Double completedPoints;
+
+    @Column(name = "snapshot_at")
+    private LocalDateTime snapshotAt;
+
+    @Column(name = "snapshot_person_days")
+    private Double snapshotPersonDays;
+
+    @Column(name = "current_person_days")
+    private Double currentPersonDays;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public Sprint(String name, LocalDate startDate, LocalDate endDate) {
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum SprintStatus {
+        PLANNED,
+        ACTIVE,
+        COMPLETED
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.agiletools.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A change to a member's availability in a started sprint, caused by creating, changing or deleting
+ * a leave, or by the member leaving the team, which has no {@code leaveId}. {@code lostDays} and {@code regainedDays} use the bit layout of
+ * {@link SprintMemberSnapshot#getAvailability()}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "sprint_capacity_deltas", indexes = {
+        @Index(name = "idx_sprint_capacity_deltas_sprint", columnList = "sprint_id")
+})
+public class SprintCapacityDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sprint_capacity_delta_seq")
+    @SequenceGenerator(name = "sprint_capacity_delta_seq", sequenceName = "sprint_capacity_deltas_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sprint_id", nullable = false)
+    private Sprint sprint;
+
+    @Column(name = "team_member_id", nullable = false)
+    private Long teamMemberId;
+
+    @Column(name = "leave_id")
+    private Long leaveId;
+
+    @Column(name = "lost_days", nullable = false, length = 46)
+    private byte[] lostDays;
+
+    @Column(name = "regained_days", nullable = false, length = 46)
+    private byte[] regainedDays;
+
+    @Column(name = "person_days", nullable = false)
+    private double personDays;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
\ No newline at end of file
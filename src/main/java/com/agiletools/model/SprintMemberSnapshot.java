@@ -0,0 +1,45 @@
+package com.agiletools.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Availability of one member over a sprint, frozen when the sprint started. Bit {@code i} of
+ * {@code availability} ({@link java.util.BitSet#toByteArray()} encoding) is set if the member was
+ * expected to work on the sprint's start date plus {@code i} days. The member is referenced by id
+ * only, so the snapshot outlives the member.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "sprint_member_snapshots",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"sprint_id", "team_member_id"}))
+public class SprintMemberSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sprint_member_snapshot_seq")
+    @SequenceGenerator(name = "sprint_member_snapshot_seq", sequenceName = "sprint_member_snapshots_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sprint_id", nullable = false)
+    private Sprint sprint;
+
+    @Column(name = "team_member_id", nullable = false)
+    private Long teamMemberId;
+
+    @Column(name = "member_name")
+    private String memberName;
+
+    @Column(name = "capacity_percentage")
+    private Double capacityPercentage;
+
+    @Column(nullable = false, length = 46)
+    private byte[] availability;
+
+    @Column(name = "available_days", nullable = false)
+    private int availableDays;
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.agiletools.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated leave of one team on one day for one leave type: how many members are out and how
+ * many person-days (weighted by capacity percentage) that takes away. Only days on which the member
+ * would otherwise work are counted, and rows only exist while at least one member is out.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "team_leave_days",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"team_id", "leave_date", "leave_type"}))
+public class TeamLeaveDay {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_leave_day_seq")
+    @SequenceGenerator(name = "team_leave_day_seq", sequenceName = "team_leave_days_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Column(name = "leave_date", nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false)
+    private Leave.LeaveType leaveType;
+
+    @Column(name = "people_out", nullable = false)
+    private int peopleOut;
+
+    @Column(name = "person_days", nullable = false)
+    private double personDays;
+
+    public TeamLeaveDay(Long teamId, LocalDate date, Leave.LeaveType leaveType) {
+        this.teamId = teamId;
+        this.date = date;
+        this.leaveType = leaveType;
+    }
+}
\ No newline at end of file
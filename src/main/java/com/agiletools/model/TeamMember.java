@@ -13,13 +13,21 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "team_members")
+@Table(name = "team_members", indexes = {
+        @Index(name = "idx_team_members_team", columnList = "team_id"),
+        @Index(name = "idx_team_members_jurisdiction", columnList = "jurisdiction"),
+        @Index(name = "idx_team_members_updated_at", columnList = "updated_at, id")
+})
 public class TeamMember {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_member_seq")
+    @SequenceGenerator(name = "team_member_seq", sequenceName = "team_members_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotBlank(message = "First name is required")
     @Column(name = "first_name", nullable = false)
     private String firstName;
@@ -42,7 +50,7 @@ public class TeamMember {
     @JoinColumn(name = "team_id")
     private Team team;
 
-    @OneToMany(mappedBy = "teamMember", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "teamMember", fetch = FetchType.LAZY)
     private List<Leave> leaves;
 
     @Column(name = "created_at")
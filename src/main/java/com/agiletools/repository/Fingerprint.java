@@ -0,0 +1,15 @@
+package com.agiletools.repository;
+
+/**
+ * Aggregate over the rows behind a response: how many there are, the sum of their ids and the sum of
+ * the versions of those rows and of the rows they are rendered with. Any insert, delete or update of
+ * one of them changes at least one of the three values, which makes it a cheap source for ETags.
+ */
+public interface Fingerprint {
+
+    Long getCount();
+
+    Long getIdSum();
+
+    Long getVersionSum();
+}
\ No newline at end of file
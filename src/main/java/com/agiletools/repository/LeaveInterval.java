@@ -0,0 +1,14 @@
+package com.agiletools.repository;
+
+import java.time.LocalDate;
+
+public interface LeaveInterval {
+
+    Long getId();
+
+    Long getTeamMemberId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
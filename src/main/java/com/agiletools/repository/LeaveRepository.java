@@ -1,37 +1,165 @@
 package com.agiletools.repository;
 
 import com.agiletools.model.Leave;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LeaveRepository extends JpaRepository<Leave, Long> {
 
+    int EXPORT_FETCH_SIZE = 500;
+
     List<Leave> findByTeamMemberId(Long teamMemberId);
 
     List<Leave> findByTeamMemberTeamId(Long teamId);
 
+    @Query("SELECT l.id AS id, l.teamMember.id AS teamMemberId, l.startDate AS startDate, l.endDate AS endDate " +
+           "FROM Leave l WHERE l.teamMember.id = :teamMemberId")
+    List<LeaveInterval> findIntervalsByTeamMemberId(@Param("teamMemberId") Long teamMemberId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT l.id AS id, l.teamMember.id AS teamMemberId, l.startDate AS startDate, l.endDate AS endDate " +
+           "FROM Leave l ORDER BY l.teamMember.id, l.startDate")
+    Stream<LeaveInterval> streamAllIntervalsByTeamMember();
+
+    @Query("SELECT l.id AS id, l.teamMember.id AS teamMemberId, l.startDate AS startDate, l.endDate AS endDate " +
+           "FROM Leave l WHERE l.teamMember.id IN :teamMemberIds " +
+           "AND ((l.startDate <= :endDate AND l.endDate >= :startDate))")
+    List<LeaveInterval> findIntervalsInPeriod(@Param("teamMemberIds") Collection<Long> teamMemberIds,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+
+    /**
+     * Fingerprints of one keyset page of the list queries below, so that a change outside the page
+     * does not change its tag.
+     */
+    @Query("SELECT COUNT(p.id) AS count, SUM(p.id) AS idSum, SUM(p.version) AS versionSum " +
+           "FROM (SELECT l.id AS id, l.version + COALESCE(tm.version, 0) AS version FROM Leave l " +
+           "LEFT JOIN l.teamMember tm WHERE l.id > :after ORDER BY l.id LIMIT :limit) p")
+    Fingerprint fingerprint(@Param("after") Long after, @Param("limit") int limit);
+
+    @Query("SELECT COUNT(p.id) AS count, SUM(p.id) AS idSum, SUM(p.version) AS versionSum " +
+           "FROM (SELECT l.id AS id, l.version + tm.version AS version FROM Leave l " +
+           "JOIN l.teamMember tm WHERE tm.id = :teamMemberId AND l.id > :after ORDER BY l.id LIMIT :limit) p")
+    Fingerprint fingerprintByTeamMemberId(@Param("teamMemberId") Long teamMemberId,
+                                          @Param("after") Long after, @Param("limit") int limit);
+
+    @Query("SELECT COUNT(p.id) AS count, SUM(p.id) AS idSum, SUM(p.version) AS versionSum " +
+           "FROM (SELECT l.id AS id, l.version + tm.version AS version FROM Leave l " +
+           "JOIN l.teamMember tm WHERE tm.team.id = :teamId AND l.id > :after ORDER BY l.id LIMIT :limit) p")
+    Fingerprint fingerprintByTeamId(@Param("teamId") Long teamId, @Param("after") Long after, @Param("limit") int limit);
+
+    @Query("SELECT COUNT(p.id) AS count, SUM(p.id) AS idSum, SUM(p.version) AS versionSum " +
+           "FROM (SELECT l.id AS id, l.version + tm.version AS version FROM Leave l " +
+           "JOIN l.teamMember tm WHERE tm.team.id = :teamId " +
+           "AND ((l.startDate <= :endDate AND l.endDate >= :startDate)) " +
+           "AND l.id > :after ORDER BY l.id LIMIT :limit) p")
+    Fingerprint fingerprintByTeamIdInPeriod(@Param("teamId") Long teamId,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate,
+                                            @Param("after") Long after,
+                                            @Param("limit") int limit);
+
+    @Query("SELECT COUNT(l) AS count, SUM(l.id) AS idSum, SUM(l.version + COALESCE(tm.version, 0)) AS versionSum " +
+           "FROM Leave l LEFT JOIN l.teamMember tm WHERE l.id = :id")
+    Fingerprint fingerprintById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "teamMember")
+    Optional<Leave> findWithTeamMemberById(Long id);
+
+    @EntityGraph(attributePaths = "teamMember")
+    List<Leave> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "teamMember")
+    List<Leave> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    @EntityGraph(attributePaths = "teamMember")
+    List<Leave> findByTeamMemberIdAndIdGreaterThanOrderByIdAsc(Long teamMemberId, Long after, Limit limit);
+
+    @EntityGraph(attributePaths = "teamMember")
+    List<Leave> findByTeamMemberTeamIdAndIdGreaterThanOrderByIdAsc(Long teamId, Long after, Limit limit);
+
     @Query("SELECT l FROM Leave l WHERE l.teamMember.id = :teamMemberId " +
            "AND ((l.startDate <= :endDate AND l.endDate >= :startDate))")
     List<Leave> findOverlappingLeaves(@Param("teamMemberId") Long teamMemberId,
                                      @Param("startDate") LocalDate startDate,
                                      @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT l.id FROM Leave l WHERE l.teamMember.id = :teamMemberId " +
+           "AND l.startDate <= :endDate AND l.endDate >= :startDate " +
+           "AND (:excludedId IS NULL OR l.id <> :excludedId) ORDER BY l.startDate, l.id")
+    List<Long> findOverlappingIds(@Param("teamMemberId") Long teamMemberId,
+                                  @Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate,
+                                  @Param("excludedId") Long excludedId);
+
+    @Query("SELECT l.id FROM Leave l WHERE l.id IN :ids AND l.teamMember.id = :teamMemberId " +
+           "AND l.startDate <= :endDate AND l.endDate >= :startDate ORDER BY l.startDate, l.id")
+    List<Long> findOverlappingIdsIn(@Param("ids") Collection<Long> ids,
+                                    @Param("teamMemberId") Long teamMemberId,
+                                    @Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+
     @Query("SELECT l FROM Leave l WHERE l.teamMember.team.id = :teamId " +
            "AND ((l.startDate <= :endDate AND l.endDate >= :startDate))")
     List<Leave> findTeamLeavesInPeriod(@Param("teamId") Long teamId,
                                       @Param("startDate") LocalDate startDate,
                                       @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT l FROM Leave l JOIN FETCH l.teamMember tm WHERE tm.team.id = :teamId " +
+           "AND ((l.startDate <= :endDate AND l.endDate >= :startDate)) " +
+           "AND l.id > :after ORDER BY l.id")
+    List<Leave> findTeamLeavesInPeriod(@Param("teamId") Long teamId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate,
+                                      @Param("after") Long after,
+                                      Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT l FROM Leave l JOIN FETCH l.teamMember tm " +
+           "WHERE (:teamId IS NULL OR tm.team.id = :teamId) " +
+           "AND (:teamMemberId IS NULL OR tm.id = :teamMemberId) " +
+           "AND (:endDate IS NULL OR l.startDate <= :endDate) " +
+           "AND (:startDate IS NULL OR l.endDate >= :startDate) " +
+           "ORDER BY l.id")
+    Stream<Leave> streamForExport(@Param("teamId") Long teamId,
+                                  @Param("teamMemberId") Long teamMemberId,
+                                  @Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT l FROM Leave l JOIN FETCH l.teamMember tm " +
+           "WHERE tm.jurisdiction = :jurisdiction AND tm.team IS NOT NULL " +
+           "AND l.startDate <= :date AND l.endDate >= :date")
+    List<Leave> findCoveringDateInJurisdiction(@Param("jurisdiction") String jurisdiction,
+                                               @Param("date") LocalDate date);
+
+    @Query("SELECT l FROM Leave l JOIN FETCH l.teamMember WHERE l.leaveType = :leaveType ORDER BY l.id")
+    List<Leave> findByLeaveTypeWithTeamMember(@Param("leaveType") Leave.LeaveType leaveType);
+
     @Query("SELECT l FROM Leave l WHERE l.leaveType = 'PUBLIC_HOLIDAY' " +
            "AND l.teamMember.jurisdiction = :jurisdiction " +
            "AND ((l.startDate <= :endDate AND l.endDate >= :startDate))")
     List<Leave> findPublicHolidaysInJurisdiction(@Param("jurisdiction") String jurisdiction,
                                                 @Param("startDate") LocalDate startDate,
                                                 @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT l FROM Leave l JOIN FETCH l.teamMember WHERE l.updatedAt >= :since AND l.updatedAt <= :until " +
+           "AND (l.updatedAt > :since OR l.id > :afterId) ORDER BY l.updatedAt, l.id")
+    List<Leave> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                 @Param("until") LocalDateTime until, Limit limit);
+
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.agiletools.repository;
+
+import com.agiletools.model.PublicHoliday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PublicHolidayRepository extends JpaRepository<PublicHoliday, Long> {
+
+    // Holidays are never updated in place, so their ids alone identify the current set.
+    @Query("SELECT COUNT(h) AS count, SUM(h.id) AS idSum, 0L AS versionSum FROM PublicHoliday h")
+    Fingerprint fingerprint();
+
+    boolean existsByJurisdictionAndDate(String jurisdiction, LocalDate date);
+
+    List<PublicHoliday> findByJurisdictionAndDateBetweenOrderByDate(String jurisdiction, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,30 @@
+package com.agiletools.repository;
+
+import com.agiletools.model.SprintCapacityDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SprintCapacityDeltaRepository extends JpaRepository<SprintCapacityDelta, Long> {
+
+    List<SprintCapacityDelta> findBySprintIdOrderById(Long sprintId);
+
+    @Query("SELECT d FROM SprintCapacityDelta d WHERE d.sprint.id IN :sprintIds AND d.teamMemberId IN :teamMemberIds " +
+           "ORDER BY d.id")
+    List<SprintCapacityDelta> findBySprintsAndMembers(@Param("sprintIds") Collection<Long> sprintIds,
+                                                      @Param("teamMemberIds") Collection<Long> teamMemberIds);
+
+    @Modifying
+    @Query("DELETE FROM SprintCapacityDelta d WHERE d.sprint.id IN :sprintIds")
+    int deleteBySprintIds(@Param("sprintIds") Collection<Long> sprintIds);
+
+    @Modifying
+    @Query("DELETE FROM SprintCapacityDelta d WHERE d.sprint.id IN (SELECT sp.id FROM Sprint sp WHERE sp.team.id = :teamId)")
+    int deleteByTeamId(@Param("teamId") Long teamId);
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.agiletools.repository;
+
+import com.agiletools.model.SprintMemberSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SprintMemberSnapshotRepository extends JpaRepository<SprintMemberSnapshot, Long> {
+
+    List<SprintMemberSnapshot> findBySprintIdOrderByTeamMemberId(Long sprintId);
+
+    @Query("SELECT s FROM SprintMemberSnapshot s WHERE s.sprint.id IN :sprintIds AND s.teamMemberId IN :teamMemberIds")
+    List<SprintMemberSnapshot> findBySprintsAndMembers(@Param("sprintIds") Collection<Long> sprintIds,
+                                                       @Param("teamMemberIds") Collection<Long> teamMemberIds);
+
+    @Modifying
+    @Query("DELETE FROM SprintMemberSnapshot s WHERE s.sprint.id IN :sprintIds")
+    int deleteBySprintIds(@Param("sprintIds") Collection<Long> sprintIds);
+
+    @Modifying
+    @Query("DELETE FROM SprintMemberSnapshot s WHERE s.sprint.id IN (SELECT sp.id FROM Sprint sp WHERE sp.team.id = :teamId)")
+    int deleteByTeamId(@Param("teamId") Long teamId);
+}
\ No newline at end of file
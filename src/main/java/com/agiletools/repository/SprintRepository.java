@@ -0,0 +1,50 @@
+package com.agiletools.repository;
+
+import com.agiletools.model.Sprint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SprintRepository extends JpaRepository<Sprint, Long> {
+
+    @Query("SELECT s FROM Sprint s JOIN FETCH s.team WHERE s.id = :id")
+    Optional<Sprint> findWithTeamById(@Param("id") Long id);
+
+    /**
+     * Sprints of a team, latest first, continuing before the sprint with id {@code before}.
+     */
+    @Query("SELECT s FROM Sprint s JOIN FETCH s.team t WHERE t.id = :teamId AND s.id < :before " +
+           "ORDER BY s.id DESC")
+    List<Sprint> findHistory(@Param("teamId") Long teamId, @Param("before") Long before, Limit limit);
+
+    @Query("SELECT s FROM Sprint s WHERE s.team.id IN :teamIds AND s.snapshotAt IS NOT NULL " +
+           "AND s.startDate <= :endDate AND s.endDate >= :startDate")
+    List<Sprint> findStartedInPeriod(@Param("teamIds") Collection<Long> teamIds,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    List<Sprint> findByTeamIdAndStatusAndEndDateGreaterThanEqual(Long teamId, Sprint.SprintStatus status,
+                                                                 LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM Sprint s WHERE s.team.id = :teamId")
+    int deleteByTeamId(@Param("teamId") Long teamId);
+
+    /**
+     * Adds to the running capacity without loading or version-checking the sprint, so concurrent
+     * leave changes of different members never conflict.
+     */
+    @Modifying
+    @Query(value = "UPDATE sprints SET current_person_days = current_person_days + :personDays WHERE id = :id",
+           nativeQuery = true)
+    int addCurrentPersonDays(@Param("id") Long id, @Param("personDays") double personDays);
+}
\ No newline at end of file
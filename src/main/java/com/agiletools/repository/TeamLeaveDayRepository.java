@@ -0,0 +1,26 @@
+package com.agiletools.repository;
+
+import com.agiletools.model.TeamLeaveDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TeamLeaveDayRepository extends JpaRepository<TeamLeaveDay, Long> {
+
+    List<TeamLeaveDay> findByTeamId(Long teamId);
+
+    List<TeamLeaveDay> findByTeamIdAndDateBetween(Long teamId, LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT DISTINCT d.teamId FROM TeamLeaveDay d")
+    List<Long> findTeamIds();
+
+    @Modifying
+    @Query("DELETE FROM TeamLeaveDay d WHERE d.teamId = :teamId")
+    int deleteByTeamId(@Param("teamId") Long teamId);
+}
\ No newline at end of file
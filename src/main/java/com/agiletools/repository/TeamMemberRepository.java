@@ -1,10 +1,17 @@
 package com.agiletools.repository;
 
 import com.agiletools.model.TeamMember;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,13 +22,61 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT tm.email FROM TeamMember tm WHERE tm.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     List<TeamMember> findByTeamId(Long teamId);
 
+    @EntityGraph(attributePaths = "team")
+    Optional<TeamMember> findWithTeamById(Long id);
+
+    @EntityGraph(attributePaths = "team")
+    List<TeamMember> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "team")
+    List<TeamMember> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    @EntityGraph(attributePaths = "team")
+    List<TeamMember> findByTeamIdAndIdGreaterThanOrderByIdAsc(Long teamId, Long after, Limit limit);
+
     List<TeamMember> findByJurisdiction(String jurisdiction);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT tm FROM TeamMember tm WHERE tm.id = :id")
+    Optional<TeamMember> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * Locks the members in id order, so two transactions locking overlapping sets cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT tm FROM TeamMember tm WHERE tm.id IN :ids ORDER BY tm.id")
+    List<TeamMember> findForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(p.id) AS count, SUM(p.id) AS idSum, SUM(p.version) AS versionSum " +
+           "FROM (SELECT tm.id AS id, tm.version + COALESCE(t.version, 0) AS version FROM TeamMember tm " +
+           "LEFT JOIN tm.team t WHERE tm.id > :after ORDER BY tm.id LIMIT :limit) p")
+    Fingerprint fingerprint(@Param("after") Long after, @Param("limit") int limit);
+
+    @Query("SELECT COUNT(p.id) AS count, SUM(p.id) AS idSum, SUM(p.version) AS versionSum " +
+           "FROM (SELECT tm.id AS id, tm.version + t.version AS version FROM TeamMember tm " +
+           "JOIN tm.team t WHERE t.id = :teamId AND tm.id > :after ORDER BY tm.id LIMIT :limit) p")
+    Fingerprint fingerprintByTeamId(@Param("teamId") Long teamId, @Param("after") Long after, @Param("limit") int limit);
+
+    @Query("SELECT COUNT(tm) AS count, SUM(tm.id) AS idSum, SUM(tm.version + COALESCE(t.version, 0)) AS versionSum " +
+           "FROM TeamMember tm LEFT JOIN tm.team t WHERE tm.id = :id")
+    Fingerprint fingerprintById(@Param("id") Long id);
+
     @Query("SELECT tm FROM TeamMember tm LEFT JOIN FETCH tm.leaves WHERE tm.id = :id")
     Optional<TeamMember> findByIdWithLeaves(Long id);
 
     @Query("SELECT tm FROM TeamMember tm LEFT JOIN FETCH tm.leaves WHERE tm.team.id = :teamId")
     List<TeamMember> findByTeamIdWithLeaves(Long teamId);
+
+    @Query("SELECT tm FROM TeamMember tm LEFT JOIN FETCH tm.team WHERE tm.updatedAt >= :since AND tm.updatedAt <= :until " +
+           "AND (tm.updatedAt > :since OR tm.id > :afterId) ORDER BY tm.updatedAt, tm.id")
+    List<TeamMember> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                      @Param("until") LocalDateTime until, Limit limit);
+
+    @Query("SELECT tm.id FROM TeamMember tm WHERE tm.team.id = :teamId")
+    List<Long> findIdsByTeamId(@Param("teamId") Long teamId);
 }
\ No newline at end of file
@@ -1,10 +1,16 @@
 package com.agiletools.repository;
 
 import com.agiletools.model.Team;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,6 +20,36 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
 
     boolean existsByName(String name);
 
+    List<Team> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * Fingerprint of one keyset page, so that a change outside the page does not change its tag.
+     */
+    @Query("SELECT COUNT(p.id) AS count, SUM(p.id) AS idSum, SUM(p.version) AS versionSum " +
+           "FROM (SELECT t.id AS id, t.version AS version FROM Team t WHERE t.id > :after ORDER BY t.id LIMIT :limit) p")
+    Fingerprint fingerprint(@Param("after") Long after, @Param("limit") int limit);
+
+    /**
+     * Fingerprint of a roster: its members, with the version of the team added to theirs. Empty when
+     * the team does not exist.
+     */
+    @Query("SELECT COUNT(tm) AS count, COALESCE(SUM(tm.id), 0) AS idSum, " +
+           "t.version + COALESCE(SUM(tm.version), 0) AS versionSum " +
+           "FROM Team t LEFT JOIN t.members tm WHERE t.id = :id GROUP BY t.id, t.version")
+    Optional<Fingerprint> fingerprintRosterById(@Param("id") Long id);
+
+    @Query("SELECT t.id FROM Team t ORDER BY t.id")
+    List<Long> findAllIds();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Team t WHERE t.id = :id")
+    Optional<Team> findForUpdateById(@Param("id") Long id);
+
     @Query("SELECT t FROM Team t LEFT JOIN FETCH t.members WHERE t.id = :id")
     Optional<Team> findByIdWithMembers(Long id);
+
+    @Query("SELECT t FROM Team t WHERE t.updatedAt >= :since AND t.updatedAt <= :until " +
+           "AND (t.updatedAt > :since OR t.id > :afterId) ORDER BY t.updatedAt, t.id")
+    List<Team> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                @Param("until") LocalDateTime until, Limit limit);
 }
\ No newline at end of file
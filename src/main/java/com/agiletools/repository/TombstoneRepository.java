@@ -0,0 +1,48 @@
+package com.agiletools.repository;
+
+import com.agiletools.model.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    @Query("SELECT t FROM Tombstone t WHERE t.deletedAt >= :since AND t.deletedAt <= :until " +
+           "AND (t.deletedAt > :since OR t.id > :afterId) ORDER BY t.deletedAt, t.id")
+    List<Tombstone> findDeletedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                     @Param("until") LocalDateTime until, Limit limit);
+
+    /**
+     * Deletes the leaves of the team's members and writes a tombstone for each in one statement,
+     * without loading them. These are native so that ids come straight from the sequence: Hibernate's
+     * insert-select assigns pooled ids one row at a time. Each sequence value is handed out once, and
+     * the ids Hibernate derives from a value never include values handed out to these statements.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tombstones (id, entity_type, entity_id, deleted_at) " +
+                   "SELECT NEXT VALUE FOR tombstones_seq, 'LEAVE', id, :deletedAt FROM OLD TABLE (" +
+                   "DELETE FROM leaves WHERE team_member_id IN (SELECT id FROM team_members WHERE team_id = :teamId))",
+           nativeQuery = true)
+    int deleteTeamLeaves(@Param("teamId") Long teamId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO tombstones (id, entity_type, entity_id, deleted_at) " +
+                   "SELECT NEXT VALUE FOR tombstones_seq, 'LEAVE', id, :deletedAt FROM OLD TABLE (" +
+                   "DELETE FROM leaves WHERE team_member_id = :teamMemberId)",
+           nativeQuery = true)
+    int deleteMemberLeaves(@Param("teamMemberId") Long teamMemberId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO tombstones (id, entity_type, entity_id, deleted_at) " +
+                   "SELECT NEXT VALUE FOR tombstones_seq, 'TEAM_MEMBER', id, :deletedAt FROM OLD TABLE (" +
+                   "DELETE FROM team_members WHERE team_id = :teamId)",
+           nativeQuery = true)
+    int deleteTeamMembers(@Param("teamId") Long teamId, @Param("deletedAt") LocalDateTime deletedAt);
+}
\ No newline at end of file
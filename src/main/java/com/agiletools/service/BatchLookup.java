@@ -0,0 +1,50 @@
+package com.agiletools.service;
+
+import com.agiletools.dto.BatchLookupDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+final class BatchLookup {
+
+    static final int MAX_IDS = 1_000;
+
+    private BatchLookup() {
+    }
+
+    /**
+     * Loads the entities with the given ids through IN queries and returns them in request order,
+     * together with the ids that were not found.
+     */
+    static <E, D> BatchLookupDto<D> resolve(List<Long> ids, Function<List<Long>, List<E>> query,
+                                            Function<E, Long> idExtractor, Function<E, D> converter) {
+        Set<Long> requested = new LinkedHashSet<>();
+        ids.stream().filter(Objects::nonNull).forEach(requested::add);
+        if (requested.size() > MAX_IDS) {
+            throw new RuntimeException("Batch lookups cannot exceed " + MAX_IDS + " ids");
+        }
+
+        Map<Long, E> found = new HashMap<>();
+        for (E entity : InClauseChunks.query(requested, query)) {
+            found.put(idExtractor.apply(entity), entity);
+        }
+
+        List<D> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>(0);
+        for (Long id : requested) {
+            E entity = found.get(id);
+            if (entity != null) {
+                items.add(converter.apply(entity));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchLookupDto<>(items, missingIds);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,321 @@
+package com.agiletools.service;
+
+import com.agiletools.dto.CapacityRebuildDto;
+import com.agiletools.dto.DailyCapacityDto;
+import com.agiletools.model.Leave;
+import com.agiletools.model.TeamLeaveDay;
+import com.agiletools.model.TeamMember;
+import com.agiletools.repository.LeaveRepository;
+import com.agiletools.repository.TeamLeaveDayRepository;
+import com.agiletools.repository.TeamMemberRepository;
+import com.agiletools.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@link TeamLeaveDay} aggregate. Every write that changes which working days a team
+ * loses to leave passes the affected leaves here, before and after the change, and only the
+ * difference over those dates is written, in the same transaction. Writers of the same team are
+ * serialized by locking the team row, so concurrent deltas never overwrite each other.
+ */
+@Service
+@Transactional
+public class CapacityAggregateService {
+
+    private static final double EPSILON = 1e-9;
+
+    @Autowired
+    private TeamLeaveDayRepository teamLeaveDayRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private LeaveRepository leaveRepository;
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MemberLocks memberLocks;
+
+    @Autowired
+    private SprintService sprintService;
+
+    /**
+     * Subtracts the {@code removed} spans from the aggregate and adds the {@code added} ones.
+     */
+    public void apply(Collection<LeaveSpan> removed, Collection<LeaveSpan> added) {
+        Map<Long, Map<DayKey, Delta>> deltas = new TreeMap<>();
+        for (LeaveSpan span : removed) {
+            accumulate(span, -1, deltas);
+        }
+        for (LeaveSpan span : added) {
+            accumulate(span, 1, deltas);
+        }
+        write(deltas);
+    }
+
+    public void removeTeam(Long teamId) {
+        teamLeaveDayRepository.deleteByTeamId(teamId);
+    }
+
+    /**
+     * A new holiday takes the day away from every leave covering it in that jurisdiction, a removed
+     * one gives it back. The calendar cache still holds the old holidays until this transaction
+     * commits, so the deltas are built from the event rather than from the calendar. Started sprints
+     * of the members' teams record the day as lost or regained the same way.
+     *
+     * <p>The members of the jurisdiction, their rows and then their teams are locked before the leaves
+     * are read.
+     * A leave written concurrently is then either read here, or counted by its own transaction once
+     * this one has completed and the calendar cache no longer holds the old holidays.
+     */
+    @EventListener
+    public void onHolidayChanged(PublicHolidayChangedEvent event) {
+        if (event.date().getDayOfWeek().getValue() >= DayOfWeek.SATURDAY.getValue()) {
+            return;
+        }
+
+        List<TeamMember> members = teamMemberRepository.findByJurisdiction(event.jurisdiction());
+        TreeSet<Long> memberIds = members.stream().map(TeamMember::getId).collect(Collectors.toCollection(TreeSet::new));
+        memberLocks.lockUntilCompletion(memberIds);
+        InClauseChunks.query(memberIds, teamMemberRepository::findForUpdateByIdIn);
+        TreeSet<Long> teamIds = new TreeSet<>();
+        for (TeamMember member : members) {
+            if (member.getTeam() != null) {
+                teamIds.add(member.getTeam().getId());
+            }
+        }
+        for (Long teamId : teamIds) {
+            teamRepository.findForUpdateById(teamId);
+        }
+
+        int sign = event.added() ? -1 : 1;
+        Map<Long, Map<DayKey, Delta>> deltas = new TreeMap<>();
+        Set<Long> onLeaveMemberIds = new HashSet<>();
+        for (LeaveSpan span : LeaveSpan.of(leaveRepository.findCoveringDateInJurisdiction(event.jurisdiction(), event.date()))) {
+            deltas.computeIfAbsent(span.teamId(), id -> new HashMap<>())
+                    .computeIfAbsent(new DayKey(event.date(), span.leaveType()), key -> new Delta())
+                    .add(sign, span.weight());
+            onLeaveMemberIds.add(span.teamMemberId());
+        }
+        write(deltas);
+        sprintService.recordHolidayChange(event.date(), event.added(), members, onLeaveMemberIds);
+    }
+
+    /**
+     * Available person-days per day, computed from the team's current roster and calendar and the
+     * pre-aggregated leave rows, without reading any leaves.
+     */
+    @Transactional(readOnly = true)
+    public DailyCapacityDto getDailyCapacity(Long teamId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Start date cannot be after end date");
+        }
+
+        long firstDay = startDate.toEpochDay();
+        int days = (int) (endDate.toEpochDay() - firstDay + 1);
+        if (days > CapacityService.MAX_RANGE_DAYS) {
+            throw new RuntimeException("Capacity range cannot exceed " + CapacityService.MAX_RANGE_DAYS + " days");
+        }
+
+        BitSet workingDays = CapacityService.workingDays(startDate, days);
+        // Members of the same jurisdiction share a calendar, so their weights are added up first.
+        Map<String, Double> weightByJurisdiction = new HashMap<>();
+        for (TeamMember member : teamMemberRepository.findByTeamId(teamId)) {
+            weightByJurisdiction.merge(member.getJurisdiction(), CapacityService.weight(member), Double::sum);
+        }
+
+        double[] daily = new double[days];
+        BitSet available = new BitSet(days);
+        for (Map.Entry<String, Double> entry : weightByJurisdiction.entrySet()) {
+            available.clear();
+            available.or(workingDays);
+            holidayCalendarService.clearHolidays(entry.getKey(), startDate, days, available);
+            for (int day = available.nextSetBit(0); day >= 0; day = available.nextSetBit(day + 1)) {
+                daily[day] += entry.getValue();
+            }
+        }
+
+        Map<Leave.LeaveType, int[]> peopleOut = new EnumMap<>(Leave.LeaveType.class);
+        for (TeamLeaveDay row : teamLeaveDayRepository.findByTeamIdAndDateBetween(teamId, startDate, endDate)) {
+            int day = (int) (row.getDate().toEpochDay() - firstDay);
+            daily[day] -= row.getPersonDays();
+            peopleOut.computeIfAbsent(row.getLeaveType(), type -> new int[days])[day] += row.getPeopleOut();
+        }
+
+        double total = 0;
+        for (double personDays : daily) {
+            total += personDays;
+        }
+
+        DailyCapacityDto dto = new DailyCapacityDto();
+        dto.setTeamId(teamId);
+        dto.setStartDate(startDate);
+        dto.setEndDate(endDate);
+        dto.setWorkingDays(workingDays.cardinality());
+        dto.setTotalPersonDays(total);
+        dto.setDailyPersonDays(daily);
+        dto.setPeopleOut(peopleOut);
+        return dto;
+    }
+
+    /**
+     * Recomputes the aggregate of every team from its leaves, one transaction per team, and fixes and
+     * counts the rows that differ from what was stored.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CapacityRebuildDto rebuild() {
+        TreeSet<Long> teamIds = new TreeSet<>(teamRepository.findAllIds());
+        teamIds.addAll(teamLeaveDayRepository.findTeamIds());
+
+        CapacityRebuildDto result = new CapacityRebuildDto();
+        for (Long teamId : teamIds) {
+            transactionTemplate.executeWithoutResult(status -> rebuildTeam(teamId, result));
+        }
+        result.setTeams(teamIds.size());
+        return result;
+    }
+
+    private void rebuildTeam(Long teamId, CapacityRebuildDto result) {
+        Map<DayKey, Delta> expected = new HashMap<>();
+        if (teamRepository.findForUpdateById(teamId).isPresent()) {
+            Map<Long, Map<DayKey, Delta>> deltas = new HashMap<>();
+            for (TeamMember member : teamMemberRepository.findByTeamIdWithLeaves(teamId)) {
+                for (LeaveSpan span : LeaveSpan.of(member.getLeaves(), teamId, member.getJurisdiction(),
+                        CapacityService.weight(member))) {
+                    accumulate(span, 1, deltas);
+                }
+            }
+            expected = deltas.getOrDefault(teamId, expected);
+        }
+
+        List<TeamLeaveDay> changed = new ArrayList<>();
+        List<TeamLeaveDay> obsolete = new ArrayList<>();
+        for (TeamLeaveDay row : teamLeaveDayRepository.findByTeamId(teamId)) {
+            Delta delta = expected.remove(new DayKey(row.getDate(), row.getLeaveType()));
+            if (delta == null || delta.peopleOut <= 0) {
+                obsolete.add(row);
+            } else if (row.getPeopleOut() != delta.peopleOut
+                    || Math.abs(row.getPersonDays() - delta.personDays) > EPSILON) {
+                row.setPeopleOut(delta.peopleOut);
+                row.setPersonDays(delta.personDays);
+                changed.add(row);
+            } else {
+                result.setRows(result.getRows() + 1);
+            }
+        }
+        expected.forEach((key, delta) -> {
+            if (delta.peopleOut > 0) {
+                changed.add(new TeamLeaveDay(null, teamId, key.date(), key.leaveType(), delta.peopleOut, delta.personDays));
+            }
+        });
+
+        teamLeaveDayRepository.deleteAll(obsolete);
+        teamLeaveDayRepository.saveAll(changed);
+        result.setRows(result.getRows() + changed.size());
+        result.setMismatches(result.getMismatches() + changed.size() + obsolete.size());
+    }
+
+    /**
+     * Adds {@code sign} times the span to each of its working, non-holiday days.
+     */
+    private void accumulate(LeaveSpan span, int sign, Map<Long, Map<DayKey, Delta>> deltas) {
+        int days = (int) (span.endDate().toEpochDay() - span.startDate().toEpochDay() + 1);
+        BitSet counted = CapacityService.workingDays(span.startDate(), days);
+        holidayCalendarService.clearHolidays(span.jurisdiction(), span.startDate(), days, counted);
+
+        Map<DayKey, Delta> teamDeltas = deltas.computeIfAbsent(span.teamId(), id -> new HashMap<>());
+        for (int day = counted.nextSetBit(0); day >= 0; day = counted.nextSetBit(day + 1)) {
+            teamDeltas.computeIfAbsent(new DayKey(span.startDate().plusDays(day), span.leaveType()), key -> new Delta())
+                    .add(sign, span.weight());
+        }
+    }
+
+    /**
+     * Applies the deltas team by team in id order, so two writers touching the same teams always
+     * take the row locks in the same order.
+     */
+    private void write(Map<Long, Map<DayKey, Delta>> deltas) {
+        for (Map.Entry<Long, Map<DayKey, Delta>> entry : deltas.entrySet()) {
+            Map<DayKey, Delta> teamDeltas = entry.getValue();
+            teamDeltas.values().removeIf(Delta::isZero);
+            if (teamDeltas.isEmpty() || teamRepository.findForUpdateById(entry.getKey()).isEmpty()) {
+                continue;
+            }
+
+            LocalDate from = LocalDate.MAX;
+            LocalDate to = LocalDate.MIN;
+            for (DayKey key : teamDeltas.keySet()) {
+                from = key.date().isBefore(from) ? key.date() : from;
+                to = key.date().isAfter(to) ? key.date() : to;
+            }
+
+            Map<DayKey, TeamLeaveDay> rows = new HashMap<>();
+            for (TeamLeaveDay row : teamLeaveDayRepository.findByTeamIdAndDateBetween(entry.getKey(), from, to)) {
+                rows.put(new DayKey(row.getDate(), row.getLeaveType()), row);
+            }
+
+            List<TeamLeaveDay> changed = new ArrayList<>();
+            List<TeamLeaveDay> obsolete = new ArrayList<>();
+            teamDeltas.forEach((key, delta) -> {
+                TeamLeaveDay row = rows.computeIfAbsent(key,
+                        k -> new TeamLeaveDay(entry.getKey(), k.date(), k.leaveType()));
+                row.setPeopleOut(row.getPeopleOut() + delta.peopleOut);
+                row.setPersonDays(row.getPersonDays() + delta.personDays);
+                if (row.getPeopleOut() > 0) {
+                    changed.add(row);
+                } else if (row.getId() != null) {
+                    obsolete.add(row);
+                }
+            });
+
+            teamLeaveDayRepository.deleteAll(obsolete);
+            teamLeaveDayRepository.saveAll(changed);
+        }
+    }
+
+    private record DayKey(LocalDate date, Leave.LeaveType leaveType) {
+    }
+
+    private static final class Delta {
+
+        private int peopleOut;
+        private double personDays;
+
+        void add(int sign, double weight) {
+            peopleOut += sign;
+            personDays += sign * weight;
+        }
+
+        boolean isZero() {
+            return peopleOut == 0 && Math.abs(personDays) < EPSILON;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.agiletools.service;
+
+import com.agiletools.dto.CapacityDto;
+import com.agiletools.dto.MemberCapacityDto;
+import com.agiletools.model.Leave;
+import com.agiletools.model.TeamMember;
+import com.agiletools.repository.TeamMemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class CapacityService {
+
+    static final int MAX_RANGE_DAYS = 366;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    public CapacityDto getTeamCapacity(Long teamId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Start date cannot be after end date");
+        }
+
+        long firstDay = startDate.toEpochDay();
+        int days = (int) (endDate.toEpochDay() - firstDay + 1);
+        if (days > MAX_RANGE_DAYS) {
+            throw new RuntimeException("Capacity range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        BitSet workingDays = workingDays(startDate, days);
+        BitSet available = new BitSet(days);
+        double[] daily = new double[days];
+        List<MemberCapacityDto> memberCapacities = new ArrayList<>();
+
+        for (TeamMember member : teamMemberRepository.findByTeamIdWithLeaves(teamId)) {
+            markAvailability(member, startDate, days, workingDays, available);
+
+            double weight = weight(member);
+            for (int day = available.nextSetBit(0); day >= 0; day = available.nextSetBit(day + 1)) {
+                daily[day] += weight;
+            }
+
+            int availableDays = available.cardinality();
+            memberCapacities.add(new MemberCapacityDto(
+                    member.getId(),
+                    member.getFullName(),
+                    member.getCapacityPercentage(),
+                    availableDays,
+                    availableDays * weight
+            ));
+        }
+
+        double total = 0;
+        for (double personDays : daily) {
+            total += personDays;
+        }
+
+        CapacityDto dto = new CapacityDto();
+        dto.setTeamId(teamId);
+        dto.setStartDate(startDate);
+        dto.setEndDate(endDate);
+        dto.setWorkingDays(workingDays.cardinality());
+        dto.setTotalPersonDays(total);
+        dto.setDailyPersonDays(daily);
+        dto.setMembers(memberCapacities);
+        return dto;
+    }
+
+    /**
+     * Fills {@code available} with the days (as offsets from {@code startDate}) on which the member
+     * is working, is not on a public holiday of their jurisdiction and is not on leave. The member's
+     * leaves must already be initialized.
+     */
+    void markAvailability(TeamMember member, LocalDate startDate, int days, BitSet workingDays, BitSet available) {
+        available.clear();
+        available.or(workingDays);
+        holidayCalendarService.clearHolidays(member.getJurisdiction(), startDate, days, available);
+
+        if (member.getLeaves() == null) {
+            return;
+        }
+
+        long firstDay = startDate.toEpochDay();
+
+        for (Leave leave : member.getLeaves()) {
+            long from = Math.max(leave.getStartDate().toEpochDay() - firstDay, 0);
+            long to = Math.min(leave.getEndDate().toEpochDay() - firstDay, days - 1);
+            if (from <= to) {
+                available.clear((int) from, (int) to + 1);
+            }
+        }
+    }
+
+    static BitSet workingDays(LocalDate startDate, int days) {
+        BitSet workingDays = new BitSet(days);
+        int dayOfWeek = startDate.getDayOfWeek().getValue();
+        for (int day = 0; day < days; day++) {
+            if (dayOfWeek < DayOfWeek.SATURDAY.getValue()) {
+                workingDays.set(day);
+            }
+            dayOfWeek = dayOfWeek % 7 + 1;
+        }
+        return workingDays;
+    }
+
+    static double weight(TeamMember member) {
+        Double capacityPercentage = member.getCapacityPercentage();
+        return capacityPercentage == null ? 1.0 : capacityPercentage / 100.0;
+    }
+}
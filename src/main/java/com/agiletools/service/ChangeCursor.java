@@ -0,0 +1,57 @@
+package com.agiletools.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in the change feed. Changes are ordered by timestamp, then by the table they come from,
+ * then by id, which makes the order total even when many rows share a timestamp. The text form is
+ * {@code <timestamp>_<source>_<id>}.
+ */
+record ChangeCursor(LocalDateTime timestamp, Source source, long id) implements Comparable<ChangeCursor> {
+
+    static final ChangeCursor START = new ChangeCursor(LocalDateTime.of(1970, 1, 1, 0, 0), Source.TEAMS, 0);
+
+    static ChangeCursor parse(String cursor) {
+        String[] parts = cursor.split("_");
+        if (parts.length != 3) {
+            throw new RuntimeException("Invalid change cursor: " + cursor);
+        }
+        try {
+            return new ChangeCursor(LocalDateTime.parse(parts[0]), Source.values()[Integer.parseInt(parts[1])],
+                    Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new RuntimeException("Invalid change cursor: " + cursor);
+        }
+    }
+
+    /**
+     * The id after which rows of {@code other} with exactly this cursor's timestamp are still new:
+     * all of them for sources ordered after this one, none for sources ordered before it.
+     */
+    long afterId(Source other) {
+        int order = other.compareTo(source);
+        return order < 0 ? Long.MAX_VALUE : order == 0 ? id : 0;
+    }
+
+    @Override
+    public int compareTo(ChangeCursor other) {
+        int order = timestamp.compareTo(other.timestamp);
+        if (order == 0) {
+            order = source.compareTo(other.source);
+        }
+        return order != 0 ? order : Long.compare(id, other.id);
+    }
+
+    @Override
+    public String toString() {
+        return timestamp + "_" + source.ordinal() + "_" + id;
+    }
+
+    enum Source {
+        TEAMS,
+        TEAM_MEMBERS,
+        LEAVES,
+        TOMBSTONES
+    }
+}
\ No newline at end of file
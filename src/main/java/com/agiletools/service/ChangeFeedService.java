@@ -0,0 +1,119 @@
+package com.agiletools.service;
+
+import com.agiletools.config.ChangeFeedProperties;
+import com.agiletools.config.WriteTrackingTransactionManager;
+import com.agiletools.dto.ChangeDto;
+import com.agiletools.dto.ChangeFeedDto;
+import com.agiletools.model.Leave;
+import com.agiletools.model.Team;
+import com.agiletools.model.TeamMember;
+import com.agiletools.model.Tombstone;
+import com.agiletools.repository.LeaveRepository;
+import com.agiletools.repository.TeamMemberRepository;
+import com.agiletools.repository.TeamRepository;
+import com.agiletools.repository.TombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class ChangeFeedService {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private LeaveRepository leaveRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private ChangeFeedProperties changeFeedProperties;
+
+    @Autowired
+    private WriteTrackingTransactionManager transactionManager;
+
+    /**
+     * Returns up to {@code limit} changes after the cursor, oldest first. Each table is read with an
+     * index range scan on {@code (updated_at, id)} and the results are merged.
+     *
+     * <p>Timestamps are taken when a row is flushed, not when its transaction commits, so a slow
+     * transaction can commit a timestamp older than rows already returned. Changes are therefore
+     * held back to just before the oldest write transaction still open on this instance. Another
+     * instance's transactions cannot be seen, so changes younger than the safety lag are held back
+     * as well, and writes that take longer than the lag lose their changes if made there.
+     */
+    public ChangeFeedDto getChanges(String since, int limit) {
+        ChangeCursor cursor = since != null ? ChangeCursor.parse(since) : ChangeCursor.START;
+        LocalDateTime until = LocalDateTime.now().minus(changeFeedProperties.getSafetyLag());
+        LocalDateTime oldestOpenWrite = transactionManager.oldestOpenWriteStart().orElse(null);
+        if (oldestOpenWrite != null && !oldestOpenWrite.isAfter(until)) {
+            // Timestamps are stored to the microsecond.
+            until = oldestOpenWrite.minusNanos(1_000);
+        }
+        Limit fetchLimit = Limit.of(limit + 1);
+
+        List<Change> changes = new ArrayList<>();
+        for (Team team : teamRepository.findChangedSince(cursor.timestamp(),
+                cursor.afterId(ChangeCursor.Source.TEAMS), until, fetchLimit)) {
+            changes.add(upsert(ChangeCursor.Source.TEAMS, Tombstone.EntityType.TEAM, team.getId(), team.getUpdatedAt(),
+                    teamService.convertToDto(team)));
+        }
+        for (TeamMember member : teamMemberRepository.findChangedSince(cursor.timestamp(),
+                cursor.afterId(ChangeCursor.Source.TEAM_MEMBERS), until, fetchLimit)) {
+            changes.add(upsert(ChangeCursor.Source.TEAM_MEMBERS, Tombstone.EntityType.TEAM_MEMBER, member.getId(),
+                    member.getUpdatedAt(), teamMemberService.convertToDto(member)));
+        }
+        for (Leave leave : leaveRepository.findChangedSince(cursor.timestamp(),
+                cursor.afterId(ChangeCursor.Source.LEAVES), until, fetchLimit)) {
+            changes.add(upsert(ChangeCursor.Source.LEAVES, Tombstone.EntityType.LEAVE, leave.getId(), leave.getUpdatedAt(),
+                    leaveService.convertToDto(leave)));
+        }
+        for (Tombstone tombstone : tombstoneRepository.findDeletedSince(cursor.timestamp(),
+                cursor.afterId(ChangeCursor.Source.TOMBSTONES), until, fetchLimit)) {
+            ChangeCursor position = new ChangeCursor(tombstone.getDeletedAt(), ChangeCursor.Source.TOMBSTONES, tombstone.getId());
+            changes.add(new Change(position, new ChangeDto(position.toString(), tombstone.getEntityType(),
+                    ChangeDto.Operation.DELETE, tombstone.getEntityId(), tombstone.getDeletedAt(), null)));
+        }
+
+        changes.sort(Comparator.comparing(Change::position));
+        boolean hasMore = changes.size() > limit;
+        List<Change> page = hasMore ? changes.subList(0, limit) : changes;
+        ChangeCursor next = page.isEmpty() ? cursor : page.get(page.size() - 1).position();
+
+        ChangeFeedDto dto = new ChangeFeedDto();
+        dto.setChanges(page.stream().map(Change::dto).toList());
+        dto.setNextCursor(next.toString());
+        dto.setHasMore(hasMore);
+        return dto;
+    }
+
+    private static Change upsert(ChangeCursor.Source source, Tombstone.EntityType type, Long id, LocalDateTime updatedAt,
+                                 Object entity) {
+        ChangeCursor position = new ChangeCursor(updatedAt, source, id);
+        return new Change(position, new ChangeDto(position.toString(), type, ChangeDto.Operation.UPSERT, id, updatedAt, entity));
+    }
+
+    private record Change(ChangeCursor position, ChangeDto dto) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.agiletools.service;
+
+import com.agiletools.config.DashboardProperties;
+import com.agiletools.dto.CapacityDto;
+import com.agiletools.dto.DashboardDto;
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.dto.TeamDashboardDto;
+import com.agiletools.dto.TeamDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Loads roster, leaves and capacity for many teams at once. Every part of every team runs on its own
+ * virtual thread, so the response takes about as long as the slowest part rather than the sum of
+ * all of them, while a semaphore shared by all dashboard requests bounds how many of those parts
+ * hold a database connection at the same time.
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private CapacityService capacityService;
+
+    private final DashboardProperties dashboardProperties;
+    private final Semaphore queryPermits;
+
+    public DashboardService(DashboardProperties dashboardProperties) {
+        this.dashboardProperties = dashboardProperties;
+        this.queryPermits = new Semaphore(dashboardProperties.getMaxConcurrentQueries());
+    }
+
+    public DashboardDto getDashboard(List<Long> teamIds, LocalDate startDate, LocalDate endDate) {
+        if (teamIds.isEmpty()) {
+            throw new RuntimeException("At least one team id is required");
+        }
+        if (teamIds.size() > dashboardProperties.getMaxTeams()) {
+            throw new RuntimeException("Dashboard cannot include more than " + dashboardProperties.getMaxTeams() + " teams");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Start date cannot be after end date");
+        }
+
+        List<Future<TeamDto>> rosters = new ArrayList<>(teamIds.size());
+        List<Future<List<LeaveDto>>> leaves = new ArrayList<>(teamIds.size());
+        List<Future<CapacityDto>> capacities = new ArrayList<>(teamIds.size());
+        List<Future<?>> all = new ArrayList<>(teamIds.size() * 3);
+        AtomicBoolean failed = new AtomicBoolean();
+
+        // Closing the executor waits for every task, so no work outlives this call.
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long teamId : teamIds) {
+                rosters.add(fork(executor, failed, () -> teamService.getTeamById(teamId)));
+                leaves.add(fork(executor, failed, () ->
+                        leaveService.getTeamLeavesInPeriod(teamId, startDate, endDate, 0L, Integer.MAX_VALUE)));
+                capacities.add(fork(executor, failed, () -> capacityService.getTeamCapacity(teamId, startDate, endDate)));
+            }
+            all.addAll(rosters);
+            all.addAll(leaves);
+            all.addAll(capacities);
+        }
+
+        throwFirstFailure(all);
+
+        List<TeamDashboardDto> teams = new ArrayList<>(teamIds.size());
+        for (int i = 0; i < teamIds.size(); i++) {
+            teams.add(new TeamDashboardDto(
+                    rosters.get(i).resultNow(),
+                    leaves.get(i).resultNow(),
+                    capacities.get(i).resultNow()
+            ));
+        }
+        return new DashboardDto(startDate, endDate, teams);
+    }
+
+    /**
+     * Runs {@code task} once a query permit is available. After the first failure the remaining
+     * tasks are skipped instead of interrupted, so no JDBC call is cut off half way.
+     */
+    private <T> Future<T> fork(ExecutorService executor, AtomicBoolean failed, Callable<T> task) {
+        return executor.submit(() -> {
+            queryPermits.acquire();
+            try {
+                if (failed.get()) {
+                    throw new CancellationException();
+                }
+                return task.call();
+            } catch (RuntimeException e) {
+                failed.set(true);
+                throw e;
+            } finally {
+                queryPermits.release();
+            }
+        });
+    }
+
+    private void throwFirstFailure(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            if (future.state() == Future.State.FAILED && !(future.exceptionNow() instanceof CancellationException)) {
+                if (future.exceptionNow() instanceof RuntimeException e) {
+                    throw e;
+                }
+                throw new RuntimeException(future.exceptionNow());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.agiletools.service;
+
+import com.agiletools.repository.Fingerprint;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Hashes the given values into an opaque entity tag. Fingerprints contribute their count, id sum
+     * and version sum.
+     */
+    static String of(Object... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        for (Object part : parts) {
+            String value = part instanceof Fingerprint fingerprint
+                    ? fingerprint.getCount() + "/" + fingerprint.getIdSum() + "/" + fingerprint.getVersionSum()
+                    : String.valueOf(part);
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    /**
+     * Returns the tag of a single resource, or {@code null} when it does not exist so that no tag is
+     * handed out for a missing resource.
+     */
+    static String ofExisting(Fingerprint fingerprint, Object... parts) {
+        if (fingerprint.getCount() == 0) {
+            return null;
+        }
+        Object[] all = new Object[parts.length + 1];
+        all[0] = fingerprint;
+        System.arraycopy(parts, 0, all, 1, parts.length);
+        return of(all);
+    }
+
+    /**
+     * Checks an {@code If-Match} header against the current tag of a resource. {@code *} passes for
+     * any existing resource. Tags are compared weakly, ignoring
+     * the {@code W/} prefix: the tags handed out are weak on purpose (see the conditional GETs), and
+     * they identify the data rather than its encoding, which is all an update needs to be sure of.
+     */
+    static void checkIfMatch(String ifMatch, String etag, String resource, Long id) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") && etag != null) {
+                return;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (etag != null && tag.equals("\"" + etag + "\"")) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException(resource, id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.agiletools.service;
+
+import com.agiletools.config.HeatmapProperties;
+import com.agiletools.dto.HeatmapDto;
+import com.agiletools.model.Team;
+import com.agiletools.model.TeamMember;
+import com.agiletools.repository.TeamMemberRepository;
+import com.agiletools.repository.TeamRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the availability of all teams over a period with fork/join: the teams are split in
+ * halves until one task is left per team, and each task loads its team's members and leaves and
+ * fills its own row, so no row is shared between threads. The pool is shared by all requests and
+ * sized to the number of cores, capped by {@code app.heatmap.max-parallelism} because every
+ * running task holds a database connection.
+ */
+@Service
+public class HeatmapService {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private CapacityService capacityService;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ForkJoinPool pool;
+
+    public HeatmapService(HeatmapProperties heatmapProperties, PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pool = new ForkJoinPool(Math.max(1,
+                Math.min(Runtime.getRuntime().availableProcessors(), heatmapProperties.getMaxParallelism())));
+    }
+
+    public HeatmapDto getHeatmap(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Start date cannot be after end date");
+        }
+
+        int days = (int) (endDate.toEpochDay() - startDate.toEpochDay() + 1);
+        if (days > CapacityService.MAX_RANGE_DAYS) {
+            throw new RuntimeException("Heatmap range cannot exceed " + CapacityService.MAX_RANGE_DAYS + " days");
+        }
+
+        List<Team> teams = teamRepository.findAll(Sort.by("id"));
+        long[] teamIds = new long[teams.size()];
+        String[] teamNames = new String[teams.size()];
+        for (int i = 0; i < teams.size(); i++) {
+            teamIds[i] = teams.get(i).getId();
+            teamNames[i] = teams.get(i).getName();
+        }
+
+        double[] capacity = new double[teamIds.length];
+        double[][] personDays = new double[teamIds.length][];
+        if (teamIds.length > 0) {
+            BitSet workingDays = CapacityService.workingDays(startDate, days);
+            pool.invoke(new TeamRows(teamIds, 0, teamIds.length, startDate, days, workingDays, capacity, personDays));
+        }
+        return new HeatmapDto(startDate, endDate, teamIds, teamNames, capacity, personDays);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Fills the rows of the teams from {@code from} (inclusive) to {@code to} (exclusive).
+     * {@code workingDays} is shared and only read.
+     */
+    private final class TeamRows extends RecursiveAction {
+
+        private final long[] teamIds;
+        private final int from;
+        private final int to;
+        private final LocalDate startDate;
+        private final int days;
+        private final BitSet workingDays;
+        private final double[] capacity;
+        private final double[][] personDays;
+
+        TeamRows(long[] teamIds, int from, int to, LocalDate startDate, int days, BitSet workingDays,
+                 double[] capacity, double[][] personDays) {
+            this.teamIds = teamIds;
+            this.from = from;
+            this.to = to;
+            this.startDate = startDate;
+            this.days = days;
+            this.workingDays = workingDays;
+            this.capacity = capacity;
+            this.personDays = personDays;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TeamRows(teamIds, from, middle, startDate, days, workingDays, capacity, personDays),
+                        new TeamRows(teamIds, middle, to, startDate, days, workingDays, capacity, personDays));
+                return;
+            }
+
+            // One transaction per team, so the member query and the holiday lookups share a connection.
+            // Read-only, so the change feed does not hold back changes behind it.
+            readOnlyTransaction.executeWithoutResult(status -> {
+                double[] row = new double[days];
+                BitSet available = new BitSet(days);
+                for (TeamMember member : teamMemberRepository.findByTeamIdWithLeaves(teamIds[from])) {
+                    capacityService.markAvailability(member, startDate, days, workingDays, available);
+
+                    double weight = CapacityService.weight(member);
+                    for (int day = available.nextSetBit(0); day >= 0; day = available.nextSetBit(day + 1)) {
+                        row[day] += weight;
+                    }
+                    capacity[from] += weight;
+                }
+                personDays[from] = row;
+            });
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.agiletools.service;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * Immutable set of public holidays for one jurisdiction and year, stored as one bit per day of
+ * the year.
+ */
+public final class HolidayCalendar {
+
+    private final int year;
+    private final long firstEpochDay;
+    private final BitSet holidays;
+
+    HolidayCalendar(int year, BitSet holidays) {
+        this.year = year;
+        this.firstEpochDay = LocalDate.ofYearDay(year, 1).toEpochDay();
+        this.holidays = (BitSet) holidays.clone();
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return date.getYear() == year && holidays.get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Clears the bits of {@code target} that fall on a holiday, where bit {@code i} stands for the
+     * day {@code firstDay + i}.
+     */
+    void clearHolidays(long firstDay, int days, BitSet target) {
+        for (int day = holidays.nextSetBit(0); day >= 0; day = holidays.nextSetBit(day + 1)) {
+            long offset = firstEpochDay + day - firstDay;
+            if (offset >= days) {
+                break;
+            }
+            if (offset >= 0) {
+                target.clear((int) offset);
+            }
+        }
+    }
+}
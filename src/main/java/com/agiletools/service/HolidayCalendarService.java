@@ -0,0 +1,129 @@
+package com.agiletools.service;
+
+import com.agiletools.dto.PublicHolidayDto;
+import com.agiletools.model.PublicHoliday;
+import com.agiletools.repository.Fingerprint;
+import com.agiletools.repository.PublicHolidayRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class HolidayCalendarService {
+
+    @Autowired
+    private PublicHolidayRepository publicHolidayRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentHashMap<CalendarKey, HolidayCalendar> calendars = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Integer, HolidayCalendar> emptyCalendars = new ConcurrentHashMap<>();
+
+    public List<PublicHolidayDto> getHolidays(String jurisdiction, int year) {
+        return publicHolidayRepository.findByJurisdictionAndDateBetweenOrderByDate(
+                        jurisdiction, LocalDate.ofYearDay(year, 1), LocalDate.of(year, 12, 31)).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public Fingerprint fingerprint() {
+        return publicHolidayRepository.fingerprint();
+    }
+
+    public PublicHolidayDto createHoliday(PublicHolidayDto holidayDto) {
+        if (publicHolidayRepository.existsByJurisdictionAndDate(holidayDto.getJurisdiction(), holidayDto.getDate())) {
+            throw new RuntimeException("Public holiday already exists for '" + holidayDto.getJurisdiction()
+                    + "' on " + holidayDto.getDate());
+        }
+
+        PublicHoliday holiday = new PublicHoliday(
+                holidayDto.getJurisdiction(),
+                holidayDto.getDate(),
+                holidayDto.getName()
+        );
+
+        PublicHoliday savedHoliday = publicHolidayRepository.save(holiday);
+        invalidate(savedHoliday);
+        eventPublisher.publishEvent(new PublicHolidayChangedEvent(savedHoliday.getJurisdiction(), savedHoliday.getDate(), true));
+        return convertToDto(savedHoliday);
+    }
+
+    public void deleteHoliday(Long id) {
+        PublicHoliday holiday = publicHolidayRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Public holiday not found with id: " + id));
+        publicHolidayRepository.delete(holiday);
+        invalidate(holiday);
+        eventPublisher.publishEvent(new PublicHolidayChangedEvent(holiday.getJurisdiction(), holiday.getDate(), false));
+    }
+
+    /**
+     * Returns the cached calendar of a jurisdiction and year, loading it on first use. Members
+     * without a jurisdiction share one empty calendar per year.
+     */
+    @Transactional(readOnly = true)
+    public HolidayCalendar getCalendar(String jurisdiction, int year) {
+        if (jurisdiction == null) {
+            return emptyCalendars.computeIfAbsent(year, y -> new HolidayCalendar(y, new BitSet()));
+        }
+        // Loading inside computeIfAbsent makes a concurrent invalidation wait for the load, so a
+        // calendar read before a commit is always discarded after it.
+        return calendars.computeIfAbsent(new CalendarKey(jurisdiction, year), this::loadCalendar);
+    }
+
+    public boolean isHoliday(String jurisdiction, LocalDate date) {
+        return getCalendar(jurisdiction, date.getYear()).isHoliday(date);
+    }
+
+    /**
+     * Clears the bits of {@code target} that fall on a holiday of the jurisdiction, where bit
+     * {@code i} stands for {@code startDate} plus {@code i} days.
+     */
+    public void clearHolidays(String jurisdiction, LocalDate startDate, int days, BitSet target) {
+        if (jurisdiction == null) {
+            return;
+        }
+        long firstDay = startDate.toEpochDay();
+        int lastYear = startDate.plusDays(days - 1).getYear();
+        for (int year = startDate.getYear(); year <= lastYear; year++) {
+            getCalendar(jurisdiction, year).clearHolidays(firstDay, days, target);
+        }
+    }
+
+    private HolidayCalendar loadCalendar(CalendarKey key) {
+        BitSet holidays = new BitSet(366);
+        publicHolidayRepository.findByJurisdictionAndDateBetweenOrderByDate(
+                        key.jurisdiction(), LocalDate.ofYearDay(key.year(), 1), LocalDate.of(key.year(), 12, 31))
+                .forEach(holiday -> holidays.set(holiday.getDate().getDayOfYear() - 1));
+        return new HolidayCalendar(key.year(), holidays);
+    }
+
+    private void invalidate(PublicHoliday holiday) {
+        CalendarKey key = new CalendarKey(holiday.getJurisdiction(), holiday.getDate().getYear());
+        TransactionCallbacks.afterCommit(() -> calendars.remove(key));
+    }
+
+    private PublicHolidayDto convertToDto(PublicHoliday holiday) {
+        PublicHolidayDto dto = new PublicHolidayDto();
+        dto.setId(holiday.getId());
+        dto.setJurisdiction(holiday.getJurisdiction());
+        dto.setDate(holiday.getDate());
+        dto.setName(holiday.getName());
+        dto.setCreatedAt(holiday.getCreatedAt());
+        dto.setUpdatedAt(holiday.getUpdatedAt());
+        return dto;
+    }
+
+    private record CalendarKey(String jurisdiction, int year) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.agiletools.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+final class InClauseChunks {
+
+    /**
+     * Keeps IN lists small enough for the database to resolve them through an index instead of
+     * comparing every scanned row against thousands of parameters.
+     */
+    static final int CHUNK_SIZE = 500;
+
+    private InClauseChunks() {
+    }
+
+    static <T, R> List<R> query(Collection<T> values, Function<List<T>, List<R>> query) {
+        List<T> valueList = new ArrayList<>(values);
+        List<R> results = new ArrayList<>();
+        for (int from = 0; from < valueList.size(); from += CHUNK_SIZE) {
+            results.addAll(query.apply(valueList.subList(from, Math.min(from + CHUNK_SIZE, valueList.size()))));
+        }
+        return results;
+    }
+}
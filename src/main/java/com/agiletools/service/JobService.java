@@ -0,0 +1,101 @@
+package com.agiletools.service;
+
+import com.agiletools.config.JobProperties;
+import com.agiletools.dto.JobDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs long operations in the background and keeps their status in memory for
+ * {@code app.jobs.retention} after they finish. Jobs run one at a time, so that large deletions do
+ * not compete with each other for locks and connections.
+ */
+@Service
+public class JobService {
+
+    @Autowired
+    private JobProperties jobProperties;
+
+    private final AtomicLong nextId = new AtomicLong();
+
+    private final ConcurrentHashMap<Long, Job> jobs = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "background-jobs");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JobDto submit(JobDto.Type type, Long targetId, Runnable task) {
+        removeExpired();
+
+        Job job = new Job(nextId.incrementAndGet(), type, targetId);
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job, task));
+        return job.toDto();
+    }
+
+    public JobDto getJob(Long id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new RuntimeException("Job not found with id: " + id);
+        }
+        return job.toDto();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, Runnable task) {
+        job.startedAt = LocalDateTime.now();
+        job.status = JobDto.Status.RUNNING;
+        try {
+            task.run();
+            job.status = JobDto.Status.SUCCEEDED;
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.status = JobDto.Status.FAILED;
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    private void removeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobProperties.getRetention());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static final class Job {
+
+        private final Long id;
+        private final JobDto.Type type;
+        private final Long targetId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile JobDto.Status status = JobDto.Status.PENDING;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(Long id, JobDto.Type type, Long targetId) {
+            this.id = id;
+            this.type = type;
+            this.targetId = targetId;
+        }
+
+        private JobDto toDto() {
+            // finishedAt is written last, so reading it first never pairs a finished time with a
+            // stale status.
+            LocalDateTime finished = finishedAt;
+            return new JobDto(id, type, targetId, status, submittedAt, startedAt, finished, error);
+        }
+    }
+}
\ No newline at end of file
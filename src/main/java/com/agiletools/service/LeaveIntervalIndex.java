@@ -0,0 +1,339 @@
+package com.agiletools.service;
+
+import com.agiletools.model.Leave;
+import com.agiletools.repository.LeaveInterval;
+import com.agiletools.repository.LeaveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory index of leave intervals per team member, used to answer overlap checks without a
+ * database round trip. A member's intervals are loaded on first use in a separate read-only
+ * transaction, and afterwards only change when a write commits, so the index never sees
+ * uncommitted or rolled-back leaves.
+ */
+@Component
+public class LeaveIntervalIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveIntervalIndex.class);
+
+    @Autowired
+    private LeaveRepository leaveRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentHashMap<Long, MemberIntervals> intervalsByMember = new ConcurrentHashMap<>();
+
+    /** Loads in flight, with the commits that landed while they ran. */
+    private final ConcurrentHashMap<Long, PendingLoad> loading = new ConcurrentHashMap<>();
+
+    public List<Long> findOverlapping(Long teamMemberId, LocalDate startDate, LocalDate endDate) {
+        return findOverlapping(teamMemberId, startDate, endDate, null);
+    }
+
+    /**
+     * Returns the indexed leaves overlapping the range. Inside a transaction, a member that is not
+     * loaded yet has no indexed leaves; the load starts in the background, since running it here
+     * would take a second connection while the caller holds one.
+     */
+    public List<Long> findOverlapping(Long teamMemberId, LocalDate startDate, LocalDate endDate, Long excludedLeaveId) {
+        return intervals(teamMemberId).overlapping(
+                (int) startDate.toEpochDay(), (int) endDate.toEpochDay(), excludedLeaveId);
+    }
+
+    public void onLeaveSaved(Leave leave) {
+        Long teamMemberId = leave.getTeamMember().getId();
+        Long leaveId = leave.getId();
+        int start = (int) leave.getStartDate().toEpochDay();
+        int end = (int) leave.getEndDate().toEpochDay();
+        TransactionCallbacks.afterCommit(() -> apply(teamMemberId, intervals -> intervals.with(leaveId, start, end)));
+    }
+
+    public void onLeaveDeleted(Long teamMemberId, Long leaveId) {
+        TransactionCallbacks.afterCommit(() -> apply(teamMemberId, intervals -> intervals.without(leaveId)));
+    }
+
+    /**
+     * Drops the member's intervals, so the next lookup loads them again. Used when the database
+     * disagrees with the index, which happens when another instance wrote the member's leaves.
+     */
+    public void evict(Long teamMemberId) {
+        apply(teamMemberId, intervals -> null);
+    }
+
+    public void onMemberDeleted(Long teamMemberId) {
+        TransactionCallbacks.afterCommit(() -> apply(teamMemberId, intervals -> null));
+    }
+
+    /**
+     * Applies a committed change, to the loaded intervals and to any load in flight. Changes are
+     * idempotent, so one the load already read is harmless to apply again. A change returning
+     * {@code null} drops the member.
+     */
+    private void apply(Long teamMemberId, UnaryOperator<MemberIntervals> change) {
+        loading.computeIfPresent(teamMemberId, (id, load) -> {
+            load.changes.add(change);
+            return load;
+        });
+        intervalsByMember.computeIfPresent(teamMemberId, (id, intervals) -> change.apply(intervals));
+    }
+
+    private MemberIntervals intervals(Long teamMemberId) {
+        MemberIntervals intervals = intervalsByMember.get(teamMemberId);
+        if (intervals != null) {
+            return intervals;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return load(teamMemberId);
+        }
+        if (!loading.containsKey(teamMemberId)) {
+            Thread.ofVirtual().name("leave-intervals-" + teamMemberId).start(() -> {
+                try {
+                    load(teamMemberId);
+                } catch (RuntimeException e) {
+                    log.warn("Could not load the leave intervals of member {}", teamMemberId, e);
+                }
+            });
+        }
+        return MemberIntervals.EMPTY;
+    }
+
+    /**
+     * Reads the member's intervals in a transaction of its own, so uncommitted writes of the
+     * caller are never cached, then publishes them with the commits that landed meanwhile.
+     */
+    private MemberIntervals load(Long teamMemberId) {
+        loading.compute(teamMemberId, (id, load) -> {
+            PendingLoad registered = load != null ? load : new PendingLoad();
+            registered.loaders++;
+            return registered;
+        });
+        MemberIntervals[] published = {MemberIntervals.EMPTY};
+        List<LeaveInterval> rows = null;
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            readOnly.setReadOnly(true);
+            rows = readOnly.execute(status -> leaveRepository.findIntervalsByTeamMemberId(teamMemberId));
+        } finally {
+            List<LeaveInterval> loaded = rows;
+            loading.compute(teamMemberId, (id, load) -> {
+                if (loaded != null) {
+                    MemberIntervals intervals = MemberIntervals.of(loaded);
+                    for (int i = 0; i < load.changes.size() && intervals != null; i++) {
+                        intervals = load.changes.get(i).apply(intervals);
+                    }
+                    if (intervals != null) {
+                        MemberIntervals existing = intervalsByMember.putIfAbsent(id, intervals);
+                        published[0] = existing != null ? existing : intervals;
+                    }
+                }
+                return --load.loaders == 0 ? null : load;
+            });
+        }
+        return published[0];
+    }
+
+    private static final class PendingLoad {
+
+        int loaders;
+
+        final List<UnaryOperator<MemberIntervals>> changes = new ArrayList<>();
+    }
+
+    /**
+     * Immutable intervals of one member, sorted by start day and read as an implicit balanced
+     * interval tree: the root of {@code [low, high]} is its middle element and
+     * {@code subtreeMaxEnds[i]} is the largest end day in the subtree rooted at {@code i}. A lookup
+     * skips every subtree that ends before the queried range or starts after it, so it visits
+     * O((k + 1) log n) nodes for k overlapping intervals, however long the earlier leaves are.
+     */
+    static final class MemberIntervals {
+
+        static final MemberIntervals EMPTY = new MemberIntervals(new long[0], new int[0], new int[0]);
+
+        private final long[] ids;
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] subtreeMaxEnds;
+
+        private MemberIntervals(long[] ids, int[] starts, int[] ends) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.subtreeMaxEnds = new int[ends.length];
+            fillSubtreeMaxEnds(0, ends.length - 1);
+        }
+
+        private int fillSubtreeMaxEnds(int low, int high) {
+            if (low > high) {
+                return Integer.MIN_VALUE;
+            }
+            int middle = (low + high) >>> 1;
+            subtreeMaxEnds[middle] = Math.max(ends[middle],
+                    Math.max(fillSubtreeMaxEnds(low, middle - 1), fillSubtreeMaxEnds(middle + 1, high)));
+            return subtreeMaxEnds[middle];
+        }
+
+        static MemberIntervals of(List<LeaveInterval> intervals) {
+            if (intervals.isEmpty()) {
+                return EMPTY;
+            }
+
+            List<LeaveInterval> sorted = new ArrayList<>(intervals);
+            sorted.sort(Comparator.comparing(LeaveInterval::getStartDate));
+
+            long[] ids = new long[sorted.size()];
+            int[] starts = new int[sorted.size()];
+            int[] ends = new int[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                LeaveInterval interval = sorted.get(i);
+                ids[i] = interval.getId();
+                starts[i] = (int) interval.getStartDate().toEpochDay();
+                ends[i] = (int) interval.getEndDate().toEpochDay();
+            }
+            return new MemberIntervals(ids, starts, ends);
+        }
+
+        List<Long> overlapping(int start, int end, Long excludedId) {
+            List<Long> result = new ArrayList<>(0);
+            collectOverlapping(0, ids.length - 1, start, end, excludedId, result);
+            return result;
+        }
+
+        boolean covers(int day) {
+            return anyOverlapping(0, ids.length - 1, day, day);
+        }
+
+        /**
+         * Adds the overlapping intervals of the subtree {@code [low, high]} in start order.
+         */
+        private void collectOverlapping(int low, int high, int start, int end, Long excludedId, List<Long> result) {
+            if (low > high) {
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            if (subtreeMaxEnds[middle] < start) {
+                return;
+            }
+            collectOverlapping(low, middle - 1, start, end, excludedId, result);
+            // Everything right of an interval starting after the range starts after it as well.
+            if (starts[middle] > end) {
+                return;
+            }
+            if (ends[middle] >= start && (excludedId == null || ids[middle] != excludedId)) {
+                result.add(ids[middle]);
+            }
+            collectOverlapping(middle + 1, high, start, end, excludedId, result);
+        }
+
+        private boolean anyOverlapping(int low, int high, int start, int end) {
+            if (low > high) {
+                return false;
+            }
+            int middle = (low + high) >>> 1;
+            if (subtreeMaxEnds[middle] < start) {
+                return false;
+            }
+            if (anyOverlapping(low, middle - 1, start, end)) {
+                return true;
+            }
+            if (starts[middle] > end) {
+                return false;
+            }
+            return ends[middle] >= start || anyOverlapping(middle + 1, high, start, end);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        int indexOf(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int start(int index) {
+            return starts[index];
+        }
+
+        int end(int index) {
+            return ends[index];
+        }
+
+        MemberIntervals with(long id, int start, int end) {
+            MemberIntervals base = without(id);
+            int position = base.lastStartingOnOrBefore(start) + 1;
+            int size = base.ids.length + 1;
+
+            long[] newIds = new long[size];
+            int[] newStarts = new int[size];
+            int[] newEnds = new int[size];
+            copyInserting(base.ids, newIds, position, size - 1);
+            copyInserting(base.starts, newStarts, position, size - 1);
+            copyInserting(base.ends, newEnds, position, size - 1);
+            newIds[position] = id;
+            newStarts[position] = start;
+            newEnds[position] = end;
+            return new MemberIntervals(newIds, newStarts, newEnds);
+        }
+
+        MemberIntervals without(long id) {
+            int position = indexOf(id);
+            if (position < 0) {
+                return this;
+            }
+
+            int size = ids.length - 1;
+            long[] newIds = new long[size];
+            int[] newStarts = new int[size];
+            int[] newEnds = new int[size];
+            copyRemoving(ids, newIds, position, ids.length);
+            copyRemoving(starts, newStarts, position, ids.length);
+            copyRemoving(ends, newEnds, position, ids.length);
+            return new MemberIntervals(newIds, newStarts, newEnds);
+        }
+
+        private int lastStartingOnOrBefore(int day) {
+            int low = 0;
+            int high = starts.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+
+        private static void copyInserting(Object source, Object target, int position, int length) {
+            System.arraycopy(source, 0, target, 0, position);
+            System.arraycopy(source, position, target, position + 1, length - position);
+        }
+
+        private static void copyRemoving(Object source, Object target, int position, int length) {
+            System.arraycopy(source, 0, target, 0, position);
+            System.arraycopy(source, position + 1, target, position, length - position - 1);
+        }
+    }
+}
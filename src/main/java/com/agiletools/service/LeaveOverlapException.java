@@ -0,0 +1,19 @@
+package com.agiletools.service;
+
+import java.util.List;
+
+public class LeaveOverlapException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Long> conflictingLeaveIds;
+
+    public LeaveOverlapException(List<Long> conflictingLeaveIds) {
+        super("Leave overlaps with existing leave for this team member");
+        this.conflictingLeaveIds = conflictingLeaveIds;
+    }
+
+    public List<Long> getConflictingLeaveIds() {
+        return conflictingLeaveIds;
+    }
+}
@@ -1,76 +1,209 @@
 package com.agiletools.service;
 
+import com.agiletools.dto.BatchLookupDto;
+import com.agiletools.dto.BulkResultDto;
+import com.agiletools.dto.BulkRowResultDto;
+import com.agiletools.dto.ChangeDto;
+import com.agiletools.dto.HolidayMigrationDto;
 import com.agiletools.dto.LeaveDto;
+import com.agiletools.dto.PublicHolidayDto;
 import com.agiletools.model.Leave;
 import com.agiletools.model.TeamMember;
+import com.agiletools.model.Tombstone;
+import com.agiletools.repository.LeaveInterval;
 import com.agiletools.repository.LeaveRepository;
 import com.agiletools.repository.TeamMemberRepository;
+import com.agiletools.repository.TombstoneRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class LeaveService {
 
+    static final int MAX_BULK_ROWS = 10_000;
+
+    static final String PUBLIC_HOLIDAY_LEAVE_MESSAGE = "Public holidays are managed per jurisdiction through /api/holidays";
+
     @Autowired
     private LeaveRepository leaveRepository;
 
     @Autowired
     private TeamMemberRepository teamMemberRepository;
 
-    public List<LeaveDto> getAllLeaves() {
-        return leaveRepository.findAll().stream()
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    @Autowired
+    private OutOfOfficeIndex outOfOfficeIndex;
+
+    @Autowired
+    private MemberLocks memberLocks;
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    @Autowired
+    private CapacityAggregateService capacityAggregateService;
+
+    @Autowired
+    private SprintService sprintService;
+
+    @Autowired
+    private TeamEventBroadcaster teamEventBroadcaster;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<LeaveDto> getAllLeaves(Long after, int limit) {
+        return leaveRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit)).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
-    public List<LeaveDto> getLeavesByMember(Long teamMemberId) {
-        return leaveRepository.findByTeamMemberId(teamMemberId).stream()
+    public List<LeaveDto> getLeavesByMember(Long teamMemberId, Long after, int limit) {
+        return leaveRepository.findByTeamMemberIdAndIdGreaterThanOrderByIdAsc(teamMemberId, after, Limit.of(limit)).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
-    public List<LeaveDto> getLeavesByTeam(Long teamId) {
-        return leaveRepository.findByTeamMemberTeamId(teamId).stream()
+    public List<LeaveDto> getLeavesByTeam(Long teamId, Long after, int limit) {
+        return leaveRepository.findByTeamMemberTeamIdAndIdGreaterThanOrderByIdAsc(teamId, after, Limit.of(limit)).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
-    public List<LeaveDto> getTeamLeavesInPeriod(Long teamId, LocalDate startDate, LocalDate endDate) {
-        return leaveRepository.findTeamLeavesInPeriod(teamId, startDate, endDate).stream()
+    public List<LeaveDto> getTeamLeavesInPeriod(Long teamId, LocalDate startDate, LocalDate endDate, Long after, int limit) {
+        return leaveRepository.findTeamLeavesInPeriod(teamId, startDate, endDate, after, Limit.of(limit)).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Writes the matching leaves to {@code out} as newline-delimited JSON, reading them through a
+     * database cursor and clearing the persistence context every fetch so memory stays flat.
+     */
+    @Transactional(readOnly = true)
+    public long exportLeaves(Long teamId, Long teamMemberId, LocalDate startDate, LocalDate endDate, OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(LeaveDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        long count = 0;
+
+        try (Stream<Leave> leaves = leaveRepository.streamForExport(teamId, teamMemberId, startDate, endDate)) {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            Iterator<Leave> iterator = leaves.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, convertToDto(iterator.next()));
+                if (++count % LeaveRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    /**
+     * The tags of leave responses also cover the public holidays, since those change the working days
+     * reported for each leave.
+     */
+    @Transactional(readOnly = true)
+    public String getLeavesETag(Long after, int limit) {
+        return ETags.of("leaves", leaveRepository.fingerprint(after, limit), holidayCalendarService.fingerprint(), after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public String getLeavesByMemberETag(Long teamMemberId, Long after, int limit) {
+        return ETags.of("member-leaves", teamMemberId, leaveRepository.fingerprintByTeamMemberId(teamMemberId, after, limit),
+                holidayCalendarService.fingerprint(), after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public String getLeavesByTeamETag(Long teamId, Long after, int limit) {
+        return ETags.of("team-leaves", teamId, leaveRepository.fingerprintByTeamId(teamId, after, limit),
+                holidayCalendarService.fingerprint(), after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public String getTeamLeavesInPeriodETag(Long teamId, LocalDate startDate, LocalDate endDate, Long after, int limit) {
+        return ETags.of("team-period-leaves", teamId, startDate, endDate,
+                leaveRepository.fingerprintByTeamIdInPeriod(teamId, startDate, endDate, after, limit),
+                holidayCalendarService.fingerprint(), after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public String getLeaveETag(Long id) {
+        return ETags.ofExisting(leaveRepository.fingerprintById(id), "leave", id, holidayCalendarService.fingerprint());
+    }
+
     public LeaveDto getLeaveById(Long id) {
-        Leave leave = leaveRepository.findById(id)
+        Leave leave = leaveRepository.findWithTeamMemberById(id)
                 .orElseThrow(() -> new RuntimeException("Leave not found with id: " + id));
         return convertToDto(leave);
     }
 
+    public BatchLookupDto<LeaveDto> getLeavesByIds(List<Long> ids) {
+        return BatchLookup.resolve(ids, leaveRepository::findByIdIn, Leave::getId, this::convertToDto);
+    }
+
     public LeaveDto createLeave(LeaveDto leaveDto) {
-        TeamMember teamMember = teamMemberRepository.findById(leaveDto.getTeamMemberId())
+        memberLocks.lockUntilCompletion(leaveDto.getTeamMemberId());
+        TeamMember teamMember = teamMemberRepository.findForUpdateById(leaveDto.getTeamMemberId())
                 .orElseThrow(() -> new RuntimeException("Team member not found with id: " + leaveDto.getTeamMemberId()));
 
         if (leaveDto.getStartDate().isAfter(leaveDto.getEndDate())) {
             throw new RuntimeException("Start date cannot be after end date");
         }
-
-        List<Leave> overlappingLeaves = leaveRepository.findOverlappingLeaves(
-                leaveDto.getTeamMemberId(),
-                leaveDto.getStartDate(),
-                leaveDto.getEndDate()
-        );
-
-        if (!overlappingLeaves.isEmpty()) {
-            throw new RuntimeException("Leave overlaps with existing leave for this team member");
+        if (leaveDto.getLeaveType() == Leave.LeaveType.PUBLIC_HOLIDAY) {
+            throw new RuntimeException(PUBLIC_HOLIDAY_LEAVE_MESSAGE);
         }
 
+        checkOverlaps(leaveDto.getTeamMemberId(), leaveDto.getStartDate(), leaveDto.getEndDate(), null);
+
         Leave leave = new Leave(
                 leaveDto.getStartDate(),
                 leaveDto.getEndDate(),
@@ -81,50 +214,223 @@ public class LeaveService {
         leave.setTeamMember(teamMember);
 
         Leave savedLeave = leaveRepository.save(leave);
+        leaveIntervalIndex.onLeaveSaved(savedLeave);
+        outOfOfficeIndex.onLeaveSaved(savedLeave);
+        List<LeaveSpan> spans = LeaveSpan.of(List.of(savedLeave));
+        capacityAggregateService.apply(List.of(), spans);
+        sprintService.recordLeaveChange(List.of(), spans);
+        publishTeamEvents(spans, ChangeDto.Operation.UPSERT);
         return convertToDto(savedLeave);
     }
 
+    /**
+     * Creates many leaves at once, accepting or rejecting each row on its own. Members and existing
+     * overlapping leaves for the whole batch are loaded with IN queries rather than per row, and the
+     * accepted rows are inserted in JDBC batches.
+     */
+    public BulkResultDto createLeaves(List<LeaveDto> leaveDtos) {
+        if (leaveDtos.size() > MAX_BULK_ROWS) {
+            throw new RuntimeException("Bulk requests cannot exceed " + MAX_BULK_ROWS + " rows");
+        }
+
+        Set<Long> teamMemberIds = leaveDtos.stream()
+                .map(LeaveDto::getTeamMemberId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        memberLocks.lockUntilCompletion(teamMemberIds);
+        // Sorted, so the row locks are taken in id order across chunks as well.
+        Map<Long, TeamMember> members = InClauseChunks.query(new TreeSet<>(teamMemberIds),
+                        teamMemberRepository::findForUpdateByIdIn).stream()
+                .collect(Collectors.toMap(TeamMember::getId, Function.identity()));
+
+        Map<Long, List<BatchInterval>> intervalsByMember = new HashMap<>();
+        LocalDate windowStart = leaveDtos.stream().map(LeaveDto::getStartDate).filter(Objects::nonNull)
+                .min(LocalDate::compareTo).orElse(null);
+        LocalDate windowEnd = leaveDtos.stream().map(LeaveDto::getEndDate).filter(Objects::nonNull)
+                .max(LocalDate::compareTo).orElse(null);
+        if (windowStart != null && windowEnd != null && !members.isEmpty()) {
+            List<LeaveInterval> existing = InClauseChunks.query(members.keySet(),
+                    ids -> leaveRepository.findIntervalsInPeriod(ids, windowStart, windowEnd));
+            for (LeaveInterval interval : existing) {
+                intervalsByMember.computeIfAbsent(interval.getTeamMemberId(), id -> new ArrayList<>())
+                        .add(new BatchInterval(interval.getId(), -1, interval.getStartDate(), interval.getEndDate()));
+            }
+        }
+
+        List<BulkRowResultDto> rows = new ArrayList<>(leaveDtos.size());
+        List<Leave> accepted = new ArrayList<>();
+        List<BulkRowResultDto> acceptedRows = new ArrayList<>();
+
+        for (int index = 0; index < leaveDtos.size(); index++) {
+            LeaveDto leaveDto = leaveDtos.get(index);
+            String error = validateBulkRow(leaveDto, members);
+            if (error == null) {
+                error = findBatchConflict(intervalsByMember.get(leaveDto.getTeamMemberId()), leaveDto);
+            }
+            if (error != null) {
+                rows.add(BulkRowResultDto.rejected(index, error));
+                continue;
+            }
+
+            Leave leave = new Leave(
+                    leaveDto.getStartDate(),
+                    leaveDto.getEndDate(),
+                    leaveDto.getLeaveType(),
+                    leaveDto.getDescription()
+            );
+            leave.setTeamMember(members.get(leaveDto.getTeamMemberId()));
+            accepted.add(leave);
+
+            intervalsByMember.computeIfAbsent(leaveDto.getTeamMemberId(), id -> new ArrayList<>())
+                    .add(new BatchInterval(null, index, leaveDto.getStartDate(), leaveDto.getEndDate()));
+
+            BulkRowResultDto row = BulkRowResultDto.accepted(index);
+            rows.add(row);
+            acceptedRows.add(row);
+        }
+
+        List<Leave> savedLeaves = leaveRepository.saveAll(accepted);
+        for (int i = 0; i < savedLeaves.size(); i++) {
+            acceptedRows.get(i).setId(savedLeaves.get(i).getId());
+            leaveIntervalIndex.onLeaveSaved(savedLeaves.get(i));
+            outOfOfficeIndex.onLeaveSaved(savedLeaves.get(i));
+        }
+        List<LeaveSpan> spans = LeaveSpan.of(savedLeaves);
+        capacityAggregateService.apply(List.of(), spans);
+        sprintService.recordLeaveChange(List.of(), spans);
+        publishTeamEvents(spans, ChangeDto.Operation.UPSERT);
+
+        return new BulkResultDto(rows);
+    }
+
     public LeaveDto updateLeave(Long id, LeaveDto leaveDto) {
-        Leave leave = leaveRepository.findById(id)
+        return updateLeave(id, leaveDto, null);
+    }
+
+    /**
+     * Updates the leave if it still matches {@code ifMatch} (when given) and the version in the DTO
+     * (when given). A concurrent update committed after the leave was read fails the flush with an
+     * {@link ObjectOptimisticLockingFailureException}.
+     */
+    public LeaveDto updateLeave(Long id, LeaveDto leaveDto, String ifMatch) {
+        Leave leave = leaveRepository.findWithTeamMemberById(id)
                 .orElseThrow(() -> new RuntimeException("Leave not found with id: " + id));
 
+        if (leaveDto.getVersion() != null && !leaveDto.getVersion().equals(leave.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Leave.class, id);
+        }
+        if (ifMatch != null) {
+            ETags.checkIfMatch(ifMatch, getLeaveETag(id), "Leave", id);
+        }
+
         if (leaveDto.getStartDate().isAfter(leaveDto.getEndDate())) {
             throw new RuntimeException("Start date cannot be after end date");
         }
+        if (leaveDto.getLeaveType() == Leave.LeaveType.PUBLIC_HOLIDAY) {
+            throw new RuntimeException(PUBLIC_HOLIDAY_LEAVE_MESSAGE);
+        }
 
-        List<Leave> overlappingLeaves = leaveRepository.findOverlappingLeaves(
-                leave.getTeamMember().getId(),
-                leaveDto.getStartDate(),
-                leaveDto.getEndDate()
-        );
-
-        overlappingLeaves = overlappingLeaves.stream()
-                .filter(l -> !l.getId().equals(id))
-                .collect(Collectors.toList());
+        memberLocks.lockUntilCompletion(leave.getTeamMember().getId());
+        teamMemberRepository.findForUpdateById(leave.getTeamMember().getId());
+        checkOverlaps(leave.getTeamMember().getId(), leaveDto.getStartDate(), leaveDto.getEndDate(), id);
 
-        if (!overlappingLeaves.isEmpty()) {
-            throw new RuntimeException("Leave overlaps with existing leave for this team member");
-        }
+        List<LeaveSpan> previousSpans = LeaveSpan.of(List.of(leave));
 
         leave.setStartDate(leaveDto.getStartDate());
         leave.setEndDate(leaveDto.getEndDate());
         leave.setLeaveType(leaveDto.getLeaveType());
         leave.setDescription(leaveDto.getDescription());
 
-        Leave updatedLeave = leaveRepository.save(leave);
+        Leave updatedLeave = leaveRepository.saveAndFlush(leave);
+        leaveIntervalIndex.onLeaveSaved(updatedLeave);
+        outOfOfficeIndex.onLeaveSaved(updatedLeave);
+        List<LeaveSpan> spans = LeaveSpan.of(List.of(updatedLeave));
+        capacityAggregateService.apply(previousSpans, spans);
+        sprintService.recordLeaveChange(previousSpans, spans);
+        publishTeamEvents(spans, ChangeDto.Operation.UPSERT);
         return convertToDto(updatedLeave);
     }
 
     public void deleteLeave(Long id) {
-        if (!leaveRepository.existsById(id)) {
-            throw new RuntimeException("Leave not found with id: " + id);
+        Leave leave = leaveRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Leave not found with id: " + id));
+        leaveRepository.delete(leave);
+        tombstoneRepository.save(new Tombstone(Tombstone.EntityType.LEAVE, id));
+        leaveIntervalIndex.onLeaveDeleted(leave.getTeamMember().getId(), id);
+        outOfOfficeIndex.onLeaveDeleted(leave.getTeamMember().getId(), id);
+        List<LeaveSpan> spans = LeaveSpan.of(List.of(leave));
+        capacityAggregateService.apply(spans, List.of());
+        sprintService.recordLeaveChange(spans, List.of());
+        publishTeamEvents(spans, ChangeDto.Operation.DELETE);
+    }
+
+    /**
+     * Moves {@code PUBLIC_HOLIDAY} leave rows, which predate the per-jurisdiction holiday calendar,
+     * into the calendar: every day they cover becomes a holiday of the member's jurisdiction and the
+     * rows are deleted. Rows of members without a jurisdiction have no calendar to move to and are
+     * kept as {@code OTHER} leave. The rows are removed before the holidays are added, so no day is
+     * taken off a member's capacity both as leave and as holiday.
+     */
+    public HolidayMigrationDto migratePublicHolidayLeaves() {
+        Map<String, Map<LocalDate, String>> holidays = new TreeMap<>();
+        int deleted = 0;
+        int retyped = 0;
+        List<Leave> leaves = leaveRepository.findByLeaveTypeWithTeamMember(Leave.LeaveType.PUBLIC_HOLIDAY);
+
+        // Everyone the migration writes for is locked once and in order: the owners of the leaves, and
+        // the members of the jurisdictions whose new holidays change their capacity.
+        TreeSet<Long> teamMemberIds = new TreeSet<>();
+        Set<String> jurisdictions = new TreeSet<>();
+        for (Leave leave : leaves) {
+            teamMemberIds.add(leave.getTeamMember().getId());
+            if (leave.getTeamMember().getJurisdiction() != null) {
+                jurisdictions.add(leave.getTeamMember().getJurisdiction());
+            }
+        }
+        for (String jurisdiction : jurisdictions) {
+            teamMemberRepository.findByJurisdiction(jurisdiction).forEach(member -> teamMemberIds.add(member.getId()));
+        }
+        memberLocks.lockUntilCompletion(teamMemberIds);
+        InClauseChunks.query(teamMemberIds, teamMemberRepository::findForUpdateByIdIn);
+
+        for (Leave leave : leaves) {
+            String jurisdiction = leave.getTeamMember().getJurisdiction();
+            if (jurisdiction == null) {
+                LeaveDto leaveDto = convertToDto(leave);
+                leaveDto.setLeaveType(Leave.LeaveType.OTHER);
+                updateLeave(leave.getId(), leaveDto);
+                retyped++;
+                continue;
+            }
+
+            for (LocalDate date = leave.getStartDate(); !date.isAfter(leave.getEndDate()); date = date.plusDays(1)) {
+                holidays.computeIfAbsent(jurisdiction, j -> new TreeMap<>()).putIfAbsent(date, leave.getDescription());
+            }
+            deleteLeave(leave.getId());
+            deleted++;
         }
-        leaveRepository.deleteById(id);
+
+        int created = 0;
+        for (Map.Entry<String, Map<LocalDate, String>> jurisdiction : holidays.entrySet()) {
+            for (Map.Entry<LocalDate, String> holiday : jurisdiction.getValue().entrySet()) {
+                if (holidayCalendarService.isHoliday(jurisdiction.getKey(), holiday.getKey())) {
+                    continue;
+                }
+                PublicHolidayDto holidayDto = new PublicHolidayDto();
+                holidayDto.setJurisdiction(jurisdiction.getKey());
+                holidayDto.setDate(holiday.getKey());
+                holidayDto.setName(holiday.getValue());
+                holidayCalendarService.createHoliday(holidayDto);
+                created++;
+            }
+        }
+        return new HolidayMigrationDto(deleted, retyped, created);
     }
 
-    private LeaveDto convertToDto(Leave leave) {
+    LeaveDto convertToDto(Leave leave) {
         LeaveDto dto = new LeaveDto();
         dto.setId(leave.getId());
+        dto.setVersion(leave.getVersion());
         dto.setStartDate(leave.getStartDate());
         dto.setEndDate(leave.getEndDate());
         dto.setLeaveType(leave.getLeaveType());
@@ -135,8 +441,85 @@ public class LeaveService {
         if (leave.getTeamMember() != null) {
             dto.setTeamMemberId(leave.getTeamMember().getId());
             dto.setTeamMemberName(leave.getTeamMember().getFullName());
+            dto.setWorkingDays(countWorkingDays(leave));
         }
 
         return dto;
     }
+
+    private void publishTeamEvents(List<LeaveSpan> spans, ChangeDto.Operation operation) {
+        for (LeaveSpan span : spans) {
+            teamEventBroadcaster.publishAfterCommit(span.teamId(), Tombstone.EntityType.LEAVE, operation, span.leaveId());
+        }
+    }
+
+    private int countWorkingDays(Leave leave) {
+        int days = (int) (leave.getEndDate().toEpochDay() - leave.getStartDate().toEpochDay() + 1);
+        if (days <= 0) {
+            return 0;
+        }
+        BitSet workingDays = CapacityService.workingDays(leave.getStartDate(), days);
+        holidayCalendarService.clearHolidays(leave.getTeamMember().getJurisdiction(), leave.getStartDate(), days, workingDays);
+        return workingDays.cardinality();
+    }
+
+    private String validateBulkRow(LeaveDto leaveDto, Map<Long, TeamMember> members) {
+        Set<ConstraintViolation<LeaveDto>> violations = validator.validate(leaveDto);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (leaveDto.getTeamMemberId() == null || !members.containsKey(leaveDto.getTeamMemberId())) {
+            return "Team member not found with id: " + leaveDto.getTeamMemberId();
+        }
+        if (leaveDto.getStartDate().isAfter(leaveDto.getEndDate())) {
+            return "Start date cannot be after end date";
+        }
+        if (leaveDto.getLeaveType() == Leave.LeaveType.PUBLIC_HOLIDAY) {
+            return PUBLIC_HOLIDAY_LEAVE_MESSAGE;
+        }
+        return null;
+    }
+
+    /**
+     * Rejects a leave that overlaps another leave of the member. The database decides: the member
+     * row is locked by the time this runs, so the query also sees leaves written through another
+     * instance. The interval index only pre-filters, so a conflict it reports costs a primary key
+     * lookup instead of a range query, and is only reported once the database confirms it. When the
+     * two disagree, the member's intervals are evicted and reloaded on next use.
+     */
+    private void checkOverlaps(Long teamMemberId, LocalDate startDate, LocalDate endDate, Long excludedId) {
+        List<Long> indexed = leaveIntervalIndex.findOverlapping(teamMemberId, startDate, endDate, excludedId);
+        List<Long> conflictingLeaveIds = indexed.isEmpty()
+                ? List.of()
+                : leaveRepository.findOverlappingIdsIn(indexed, teamMemberId, startDate, endDate);
+        if (conflictingLeaveIds.size() < indexed.size()) {
+            leaveIntervalIndex.evict(teamMemberId);
+        }
+        if (conflictingLeaveIds.isEmpty()) {
+            conflictingLeaveIds = leaveRepository.findOverlappingIds(teamMemberId, startDate, endDate, excludedId);
+            if (!conflictingLeaveIds.isEmpty()) {
+                leaveIntervalIndex.evict(teamMemberId);
+            }
+        }
+        if (!conflictingLeaveIds.isEmpty()) {
+            throw new LeaveOverlapException(conflictingLeaveIds);
+        }
+    }
+
+    private String findBatchConflict(List<BatchInterval> intervals, LeaveDto leaveDto) {
+        if (intervals == null) {
+            return null;
+        }
+        for (BatchInterval interval : intervals) {
+            if (!interval.startDate().isAfter(leaveDto.getEndDate()) && !interval.endDate().isBefore(leaveDto.getStartDate())) {
+                return interval.leaveId() != null
+                        ? "Leave overlaps with existing leave " + interval.leaveId() + " for this team member"
+                        : "Leave overlaps with row " + interval.rowIndex() + " of this request";
+            }
+        }
+        return null;
+    }
+
+    private record BatchInterval(Long leaveId, int rowIndex, LocalDate startDate, LocalDate endDate) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.agiletools.service;
+
+import com.agiletools.model.Leave;
+import com.agiletools.model.TeamMember;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * What capacity bookkeeping needs to know about one leave: whose team it counts against, on which
+ * days (depending on the member's jurisdiction) and with what weight.
+ */
+record LeaveSpan(Long leaveId, Long teamMemberId, Long teamId, String jurisdiction, double weight, Leave.LeaveType leaveType,
+                 LocalDate startDate, LocalDate endDate) {
+
+    /**
+     * Spans of the given leaves as their members currently are. Leaves of members without a team
+     * do not count against any team and are left out.
+     */
+    static List<LeaveSpan> of(Collection<Leave> leaves) {
+        List<LeaveSpan> spans = new ArrayList<>(leaves.size());
+        for (Leave leave : leaves) {
+            TeamMember member = leave.getTeamMember();
+            if (member != null && member.getTeam() != null) {
+                spans.add(of(leave, member.getTeam().getId(), member.getJurisdiction(), CapacityService.weight(member)));
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * Spans of one member's leaves for the given team, jurisdiction and weight, which may differ from
+     * the member's current ones.
+     */
+    static List<LeaveSpan> of(Collection<Leave> leaves, Long teamId, String jurisdiction, double weight) {
+        if (teamId == null || leaves == null) {
+            return List.of();
+        }
+        List<LeaveSpan> spans = new ArrayList<>(leaves.size());
+        for (Leave leave : leaves) {
+            spans.add(of(leave, teamId, jurisdiction, weight));
+        }
+        return spans;
+    }
+
+    private static LeaveSpan of(Leave leave, Long teamId, String jurisdiction, double weight) {
+        Leave.LeaveType leaveType = leave.getLeaveType() != null ? leave.getLeaveType() : Leave.LeaveType.OTHER;
+        return new LeaveSpan(leave.getId(), leave.getTeamMember().getId(), teamId, jurisdiction, weight, leaveType,
+                leave.getStartDate(), leave.getEndDate());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.agiletools.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks that serialize leave writes per team member. A lock is held until the surrounding
+ * transaction completes, after the commit has updated the {@link LeaveIntervalIndex}, so the next
+ * writer for the same member always checks overlaps against the committed leaves. Writers for
+ * members on different stripes never wait for each other.
+ */
+@Component
+public class MemberLocks {
+
+    static final int STRIPES = 1024;
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public MemberLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void lockUntilCompletion(Long teamMemberId) {
+        if (teamMemberId != null) {
+            lockUntilCompletion(List.of(teamMemberId));
+        }
+    }
+
+    /**
+     * Locks the stripes of all given members in ascending stripe order, so that two transactions
+     * locking overlapping sets of members cannot deadlock.
+     */
+    public void lockUntilCompletion(Collection<Long> teamMemberIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Member locks can only be taken inside a transaction");
+        }
+
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long teamMemberId : teamMemberIds) {
+            indexes.add(stripe(teamMemberId));
+        }
+
+        for (int index : indexes) {
+            ReentrantLock lock = stripes[index];
+            acquire(lock, index);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+        }
+    }
+
+    private static void acquire(ReentrantLock lock, int index) {
+        try {
+            if (!lock.tryLock(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new RuntimeException("Timed out waiting for member lock stripe: " + index);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for member lock stripe: " + index);
+        }
+    }
+
+    static int stripe(long teamMemberId) {
+        int hash = Long.hashCode(teamMemberId);
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,266 @@
+package com.agiletools.service;
+
+import com.agiletools.model.Leave;
+import com.agiletools.repository.LeaveInterval;
+import com.agiletools.repository.LeaveRepository;
+import com.agiletools.service.LeaveIntervalIndex.MemberIntervals;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Org-wide index of who is on leave when: one bitmap of team member ids per epoch day, so "who is
+ * out on date D" is a single map lookup and a range is the union of one bitmap per day, however
+ * much leave history there is. The index is loaded from the database in the background once the
+ * application is ready, and afterwards, like {@link LeaveIntervalIndex}, only changes when a write
+ * commits. Lookups made before the load has finished wait for it.
+ *
+ * <p>Published bitmaps are never modified: a write replaces the bitmaps of the days it touches
+ * with updated copies, so lookups need no locking. Writes are serialized on a lock rather than a
+ * monitor, so virtual threads waiting for it do not pin their carrier. The load does not hold the
+ * lock while it reads; writes committed meanwhile are queued and applied on top of what it read.
+ */
+@Component
+public class OutOfOfficeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OutOfOfficeIndex.class);
+
+    @Autowired
+    private LeaveRepository leaveRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentHashMap<Integer, BitSet> membersByDay = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock; tells a write which days it has to revisit.
+    private final Map<Long, MemberIntervals> intervalsByMember = new HashMap<>();
+
+    // Guarded by lock; the load in progress or done, and the writes committed while it reads.
+    private CompletableFuture<Void> loading;
+    private List<Runnable> pendingWrites;
+
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        startLoad();
+    }
+
+    /**
+     * Ids of the team members on leave on at least one day between {@code startDate} and
+     * {@code endDate}, in ascending order.
+     */
+    public List<Long> findOutOfOffice(LocalDate startDate, LocalDate endDate) {
+        if (!loaded) {
+            startLoad().join();
+        }
+
+        BitSet members = new BitSet();
+        for (long day = startDate.toEpochDay(); day <= endDate.toEpochDay(); day++) {
+            BitSet out = membersByDay.get((int) day);
+            if (out != null) {
+                members.or(out);
+            }
+        }
+        return members.stream().mapToObj(Long::valueOf).toList();
+    }
+
+    public void onLeaveSaved(Leave leave) {
+        Long teamMemberId = leave.getTeamMember().getId();
+        Long leaveId = leave.getId();
+        int start = (int) leave.getStartDate().toEpochDay();
+        int end = (int) leave.getEndDate().toEpochDay();
+        TransactionCallbacks.afterCommit(() -> write(() -> leaveSaved(teamMemberId, leaveId, start, end)));
+    }
+
+    public void onLeaveDeleted(Long teamMemberId, Long leaveId) {
+        TransactionCallbacks.afterCommit(() -> write(() -> leaveDeleted(teamMemberId, leaveId)));
+    }
+
+    public void onMemberDeleted(Long teamMemberId) {
+        TransactionCallbacks.afterCommit(() -> write(() -> memberDeleted(teamMemberId)));
+    }
+
+    /**
+     * Applies a committed write, or queues it while the load reads. A write committed before any load
+     * started is part of what the load reads, so it is dropped. Applying one that the load has also
+     * seen is harmless.
+     */
+    private void write(Runnable change) {
+        lock.lock();
+        try {
+            if (loaded) {
+                change.run();
+            } else if (pendingWrites != null) {
+                pendingWrites.add(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void leaveSaved(Long teamMemberId, long leaveId, int start, int end) {
+        MemberIntervals before = intervalsByMember.getOrDefault(teamMemberId, MemberIntervals.EMPTY);
+        MemberIntervals after = before.with(leaveId, start, end);
+        intervalsByMember.put(teamMemberId, after);
+
+        int previous = before.indexOf(leaveId);
+        if (previous >= 0) {
+            refresh(teamMemberId, after, before.start(previous), before.end(previous));
+        }
+        refresh(teamMemberId, after, start, end);
+    }
+
+    private void leaveDeleted(Long teamMemberId, long leaveId) {
+        MemberIntervals before = intervalsByMember.get(teamMemberId);
+        int previous = before == null ? -1 : before.indexOf(leaveId);
+        if (previous < 0) {
+            return;
+        }
+        MemberIntervals after = before.without(leaveId);
+        if (after.size() == 0) {
+            intervalsByMember.remove(teamMemberId);
+        } else {
+            intervalsByMember.put(teamMemberId, after);
+        }
+        refresh(teamMemberId, after, before.start(previous), before.end(previous));
+    }
+
+    private void memberDeleted(Long teamMemberId) {
+        MemberIntervals before = intervalsByMember.remove(teamMemberId);
+        if (before == null) {
+            return;
+        }
+        for (int i = 0; i < before.size(); i++) {
+            refresh(teamMemberId, MemberIntervals.EMPTY, before.start(i), before.end(i));
+        }
+    }
+
+    /**
+     * Brings the member's bit in line with {@code intervals} for every day from {@code start} to
+     * {@code end}, copying only the bitmaps that change.
+     */
+    private void refresh(Long teamMemberId, MemberIntervals intervals, int start, int end) {
+        int bit = Math.toIntExact(teamMemberId);
+        for (int day = start; day <= end; day++) {
+            boolean out = intervals.covers(day);
+            BitSet current = membersByDay.get(day);
+            if (current == null ? !out : current.get(bit) == out) {
+                continue;
+            }
+
+            BitSet updated = current == null ? new BitSet(bit + 1) : (BitSet) current.clone();
+            updated.set(bit, out);
+            if (updated.isEmpty()) {
+                membersByDay.remove(day);
+            } else {
+                membersByDay.put(day, updated);
+            }
+        }
+    }
+
+    /**
+     * Starts the load on a virtual thread unless one is running or has finished. A failed load is
+     * started again by the next lookup.
+     */
+    private CompletableFuture<Void> startLoad() {
+        lock.lock();
+        try {
+            if (loading == null || loading.isCompletedExceptionally()) {
+                CompletableFuture<Void> load = new CompletableFuture<>();
+                loading = load;
+                pendingWrites = new ArrayList<>();
+                Thread.ofVirtual().name("out-of-office-index").start(() -> {
+                    try {
+                        load();
+                        load.complete(null);
+                    } catch (RuntimeException e) {
+                        log.warn("Could not load the out-of-office index", e);
+                        load.completeExceptionally(e);
+                    }
+                });
+            }
+            return loading;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void load() {
+        Map<Long, MemberIntervals> members = new HashMap<>();
+        Map<Integer, BitSet> days = new HashMap<>();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<LeaveInterval> intervals = leaveRepository.streamAllIntervalsByTeamMember()) {
+                    // Ordered by member, so only the current member's intervals are held at a time.
+                    List<LeaveInterval> memberIntervals = new ArrayList<>();
+                    intervals.forEach(interval -> {
+                        if (!memberIntervals.isEmpty()
+                                && !Objects.equals(memberIntervals.get(0).getTeamMemberId(), interval.getTeamMemberId())) {
+                            addMember(memberIntervals, members, days);
+                            memberIntervals.clear();
+                        }
+                        memberIntervals.add(interval);
+                    });
+                    if (!memberIntervals.isEmpty()) {
+                        addMember(memberIntervals, members, days);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            intervalsByMember.putAll(members);
+            membersByDay.putAll(days);
+            pendingWrites.forEach(Runnable::run);
+            pendingWrites = null;
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void addMember(List<LeaveInterval> intervals, Map<Long, MemberIntervals> members,
+                                  Map<Integer, BitSet> days) {
+        Long teamMemberId = intervals.get(0).getTeamMemberId();
+        int bit = Math.toIntExact(teamMemberId);
+        members.put(teamMemberId, MemberIntervals.of(intervals));
+        for (LeaveInterval interval : intervals) {
+            int end = (int) interval.getEndDate().toEpochDay();
+            for (int day = (int) interval.getStartDate().toEpochDay(); day <= end; day++) {
+                days.computeIfAbsent(day, d -> new BitSet()).set(bit);
+            }
+        }
+    }
+}
\ No newline at end of file
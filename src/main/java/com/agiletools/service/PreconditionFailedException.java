@@ -0,0 +1,13 @@
+package com.agiletools.service;
+
+/**
+ * Thrown when an update carries an {@code If-Match} tag that no longer matches the resource.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedException(String resource, Long id) {
+        super(resource + " with id " + id + " has changed since it was read");
+    }
+}
\ No newline at end of file
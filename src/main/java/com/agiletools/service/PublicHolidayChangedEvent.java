@@ -0,0 +1,9 @@
+package com.agiletools.service;
+
+import java.time.LocalDate;
+
+/**
+ * Published inside the transaction that adds or removes a public holiday.
+ */
+public record PublicHolidayChangedEvent(String jurisdiction, LocalDate date, boolean added) {
+}
\ No newline at end of file
@@ -0,0 +1,566 @@
+package com.agiletools.service;
+
+import com.agiletools.dto.SprintCapacityDto;
+import com.agiletools.dto.SprintDto;
+import com.agiletools.dto.SprintMemberCapacityDto;
+import com.agiletools.model.Sprint;
+import com.agiletools.model.SprintCapacityDelta;
+import com.agiletools.model.SprintMemberSnapshot;
+import com.agiletools.model.Team;
+import com.agiletools.model.TeamMember;
+import com.agiletools.repository.SprintCapacityDeltaRepository;
+import com.agiletools.repository.SprintMemberSnapshotRepository;
+import com.agiletools.repository.SprintRepository;
+import com.agiletools.repository.TeamMemberRepository;
+import com.agiletools.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class SprintService {
+
+    @Autowired
+    private SprintRepository sprintRepository;
+
+    @Autowired
+    private SprintMemberSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private SprintCapacityDeltaRepository deltaRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private CapacityService capacityService;
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    /**
+     * Sprints of a team, latest first. The capacity figures are stored on the sprint, so the history
+     * is a single query however many sprints it spans.
+     */
+    @Transactional(readOnly = true)
+    public List<SprintDto> getSprintHistory(Long teamId, Long before, int limit) {
+        return sprintRepository.findHistory(teamId, before, Limit.of(limit)).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public SprintDto getSprintById(Long id) {
+        return convertToDto(findSprint(id));
+    }
+
+    public SprintDto createSprint(SprintDto sprintDto) {
+        Team team = teamRepository.findById(sprintDto.getTeamId())
+                .orElseThrow(() -> new RuntimeException("Team not found with id: " + sprintDto.getTeamId()));
+
+        Sprint sprint = new Sprint(sprintDto.getName(), sprintDto.getStartDate(), sprintDto.getEndDate());
+        sprint.setTeam(team);
+        sprint.setWorkingDays(countWorkingDays(sprintDto.getStartDate(), sprintDto.getEndDate()));
+        sprint.setCommittedPoints(sprintDto.getCommittedPoints());
+        sprint.setCompletedPoints(sprintDto.getCompletedPoints());
+
+        return convertToDto(sprintRepository.save(sprint));
+    }
+
+    public SprintDto updateSprint(Long id, SprintDto sprintDto) {
+        Sprint sprint = findSprint(id);
+
+        boolean datesChanged = !sprint.getStartDate().equals(sprintDto.getStartDate())
+                || !sprint.getEndDate().equals(sprintDto.getEndDate());
+        if (datesChanged) {
+            if (sprint.getSnapshotAt() != null) {
+                throw new RuntimeException("Cannot change the dates of a started sprint");
+            }
+            sprint.setWorkingDays(countWorkingDays(sprintDto.getStartDate(), sprintDto.getEndDate()));
+            sprint.setStartDate(sprintDto.getStartDate());
+            sprint.setEndDate(sprintDto.getEndDate());
+        }
+
+        sprint.setName(sprintDto.getName());
+        sprint.setCommittedPoints(sprintDto.getCommittedPoints());
+        sprint.setCompletedPoints(sprintDto.getCompletedPoints());
+
+        return convertToDto(sprintRepository.saveAndFlush(sprint));
+    }
+
+    public void deleteSprint(Long id) {
+        Sprint sprint = sprintRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Sprint not found with id: " + id));
+        deltaRepository.deleteBySprintIds(List.of(id));
+        snapshotRepository.deleteBySprintIds(List.of(id));
+        sprintRepository.delete(sprint);
+    }
+
+    public void deleteTeamSprints(Long teamId) {
+        deltaRepository.deleteByTeamId(teamId);
+        snapshotRepository.deleteByTeamId(teamId);
+        sprintRepository.deleteByTeamId(teamId);
+    }
+
+    /**
+     * Freezes the availability of every current member of the team over the sprint.
+     */
+    public SprintDto startSprint(Long id) {
+        Sprint sprint = findSprint(id);
+        if (sprint.getStatus() != Sprint.SprintStatus.PLANNED) {
+            throw new RuntimeException("Sprint has already been started");
+        }
+
+        List<SprintMemberSnapshot> snapshots = takeSnapshots(sprint);
+        snapshotRepository.saveAll(snapshots);
+
+        double personDays = 0;
+        for (SprintMemberSnapshot snapshot : snapshots) {
+            personDays += snapshot.getAvailableDays() * weight(snapshot);
+        }
+        sprint.setStatus(Sprint.SprintStatus.ACTIVE);
+        sprint.setSnapshotAt(LocalDateTime.now());
+        sprint.setSnapshotPersonDays(personDays);
+        sprint.setCurrentPersonDays(personDays);
+
+        return convertToDto(sprintRepository.saveAndFlush(sprint));
+    }
+
+    public SprintDto completeSprint(Long id) {
+        Sprint sprint = findSprint(id);
+        if (sprint.getStatus() != Sprint.SprintStatus.ACTIVE) {
+            throw new RuntimeException("Only an active sprint can be completed");
+        }
+        sprint.setStatus(Sprint.SprintStatus.COMPLETED);
+        return convertToDto(sprintRepository.saveAndFlush(sprint));
+    }
+
+    /**
+     * Capacity of a started sprint as its snapshot with all recorded changes applied. For a sprint
+     * that has not started, the same figures are computed from the current leaves without storing them.
+     */
+    @Transactional(readOnly = true)
+    public SprintCapacityDto getSprintCapacity(Long id) {
+        Sprint sprint = findSprint(id);
+        int days = days(sprint.getStartDate(), sprint.getEndDate());
+
+        List<SprintMemberSnapshot> snapshots;
+        Map<Long, List<SprintCapacityDelta>> deltasByMember = new HashMap<>();
+        int changes = 0;
+        if (sprint.getSnapshotAt() == null) {
+            snapshots = takeSnapshots(sprint);
+        } else {
+            snapshots = snapshotRepository.findBySprintIdOrderByTeamMemberId(id);
+            for (SprintCapacityDelta delta : deltaRepository.findBySprintIdOrderById(id)) {
+                deltasByMember.computeIfAbsent(delta.getTeamMemberId(), memberId -> new ArrayList<>()).add(delta);
+                changes++;
+            }
+        }
+
+        double[] daily = new double[days];
+        double snapshotPersonDays = 0;
+        List<SprintMemberCapacityDto> members = new ArrayList<>(snapshots.size());
+        for (SprintMemberSnapshot snapshot : snapshots) {
+            BitSet available = counted(snapshot, deltasByMember.getOrDefault(snapshot.getTeamMemberId(), List.of()));
+
+            double weight = weight(snapshot);
+            for (int day = available.nextSetBit(0); day >= 0; day = available.nextSetBit(day + 1)) {
+                daily[day] += weight;
+            }
+            snapshotPersonDays += snapshot.getAvailableDays() * weight;
+
+            int currentDays = available.cardinality();
+            members.add(new SprintMemberCapacityDto(
+                    snapshot.getTeamMemberId(),
+                    snapshot.getMemberName(),
+                    snapshot.getCapacityPercentage(),
+                    snapshot.getAvailableDays(),
+                    currentDays,
+                    currentDays * weight
+            ));
+        }
+
+        double currentPersonDays = 0;
+        for (double personDays : daily) {
+            currentPersonDays += personDays;
+        }
+
+        SprintCapacityDto dto = new SprintCapacityDto();
+        dto.setSprintId(sprint.getId());
+        dto.setTeamId(sprint.getTeam().getId());
+        dto.setStartDate(sprint.getStartDate());
+        dto.setEndDate(sprint.getEndDate());
+        dto.setWorkingDays(sprint.getWorkingDays());
+        dto.setSnapshotAt(sprint.getSnapshotAt());
+        dto.setSnapshotPersonDays(snapshotPersonDays);
+        dto.setCurrentPersonDays(currentPersonDays);
+        dto.setChanges(changes);
+        dto.setDailyPersonDays(daily);
+        dto.setMembers(members);
+        return dto;
+    }
+
+    /**
+     * Records the effect of a leave change on every started sprint it touches: the days the leave now
+     * takes from a member minus the days its previous version took. Members who joined the team after
+     * the sprint started are not part of its snapshot and are left out.
+     */
+    public void recordLeaveChange(Collection<LeaveSpan> removed, Collection<LeaveSpan> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+
+        Set<Long> teamIds = new HashSet<>();
+        Set<Long> teamMemberIds = new HashSet<>();
+        LocalDate from = LocalDate.MAX;
+        LocalDate to = LocalDate.MIN;
+        for (Collection<LeaveSpan> spans : List.of(removed, added)) {
+            for (LeaveSpan span : spans) {
+                teamIds.add(span.teamId());
+                teamMemberIds.add(span.teamMemberId());
+                from = span.startDate().isBefore(from) ? span.startDate() : from;
+                to = span.endDate().isAfter(to) ? span.endDate() : to;
+            }
+        }
+        if (teamIds.isEmpty()) {
+            return;
+        }
+
+        List<Sprint> sprints = sprintRepository.findStartedInPeriod(teamIds, from, to);
+        if (sprints.isEmpty()) {
+            return;
+        }
+
+        Map<SnapshotKey, SprintMemberSnapshot> snapshots = new HashMap<>();
+        for (SprintMemberSnapshot snapshot : snapshotRepository.findBySprintsAndMembers(
+                sprints.stream().map(Sprint::getId).toList(), teamMemberIds)) {
+            snapshots.put(new SnapshotKey(snapshot.getSprint().getId(), snapshot.getTeamMemberId()), snapshot);
+        }
+
+        List<SprintCapacityDelta> deltas = new ArrayList<>();
+        for (Sprint sprint : sprints) {
+            Map<ChangeKey, BitSet> lost = new LinkedHashMap<>();
+            Map<ChangeKey, BitSet> regained = new LinkedHashMap<>();
+            markDays(sprint, added, lost);
+            markDays(sprint, removed, regained);
+
+            Set<ChangeKey> keys = new HashSet<>(lost.keySet());
+            keys.addAll(regained.keySet());
+            double personDays = 0;
+            for (ChangeKey key : keys) {
+                SprintMemberSnapshot snapshot = snapshots.get(new SnapshotKey(sprint.getId(), key.teamMemberId()));
+                if (snapshot == null) {
+                    continue;
+                }
+
+                BitSet lostDays = lost.getOrDefault(key, new BitSet());
+                BitSet regainedDays = regained.getOrDefault(key, new BitSet());
+                BitSet unchanged = (BitSet) lostDays.clone();
+                unchanged.and(regainedDays);
+                lostDays.andNot(unchanged);
+                regainedDays.andNot(unchanged);
+                if (lostDays.isEmpty() && regainedDays.isEmpty()) {
+                    continue;
+                }
+
+                double change = (regainedDays.cardinality() - lostDays.cardinality()) * weight(snapshot);
+                deltas.add(new SprintCapacityDelta(null, sprint, key.teamMemberId(), key.leaveId(),
+                        lostDays.toByteArray(), regainedDays.toByteArray(), change, null));
+                personDays += change;
+            }
+
+            if (personDays != 0) {
+                sprintRepository.addCurrentPersonDays(sprint.getId(), personDays);
+            }
+        }
+        deltaRepository.saveAll(deltas);
+    }
+
+    /**
+     * Records that a member left the team, by being deleted or moved to another team. The member
+     * loses the days from today to the end of every active sprint of the team that they were still
+     * available on. Days already past keep counting.
+     */
+    public void recordMemberRemoved(Long teamMemberId, Long teamId) {
+        if (teamId == null) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        CountedDays counted = countedDays(teamId, teamMemberId, today);
+        List<SprintCapacityDelta> deltas = new ArrayList<>();
+        for (SprintMemberSnapshot snapshot : counted.snapshots()) {
+            Sprint sprint = snapshot.getSprint();
+            BitSet lostDays = counted.of(snapshot);
+            lostDays.clear(0, fromToday(sprint, today));
+            if (lostDays.isEmpty()) {
+                continue;
+            }
+
+            double change = -lostDays.cardinality() * weight(snapshot);
+            deltas.add(new SprintCapacityDelta(null, sprint, teamMemberId, null,
+                    lostDays.toByteArray(), new byte[0], change, null));
+            sprintRepository.addCurrentPersonDays(sprint.getId(), change);
+        }
+        deltaRepository.saveAll(deltas);
+    }
+
+    /**
+     * Records that a member moved (back) into their team. In every active sprint that has a snapshot
+     * of them, which is only the case for a member who was on the team when it started, the days
+     * from today on are brought in line with their leaves and holidays: they regain the days they
+     * lost by leaving and are available on. Members new to a sprint stay out of it.
+     */
+    public void recordMemberJoined(TeamMember member) {
+        if (member.getTeam() == null) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        CountedDays counted = countedDays(member.getTeam().getId(), member.getId(), today);
+        List<SprintCapacityDelta> deltas = new ArrayList<>();
+        for (SprintMemberSnapshot snapshot : counted.snapshots()) {
+            Sprint sprint = snapshot.getSprint();
+            int days = days(sprint.getStartDate(), sprint.getEndDate());
+            BitSet available = new BitSet(days);
+            capacityService.markAvailability(member, sprint.getStartDate(), days,
+                    CapacityService.workingDays(sprint.getStartDate(), days), available);
+            BitSet countedDays = counted.of(snapshot);
+
+            BitSet regainedDays = (BitSet) available.clone();
+            regainedDays.andNot(countedDays);
+            BitSet lostDays = countedDays;
+            lostDays.andNot(available);
+            int past = fromToday(sprint, today);
+            regainedDays.clear(0, past);
+            lostDays.clear(0, past);
+            if (regainedDays.isEmpty() && lostDays.isEmpty()) {
+                continue;
+            }
+
+            double change = (regainedDays.cardinality() - lostDays.cardinality()) * weight(snapshot);
+            deltas.add(new SprintCapacityDelta(null, sprint, member.getId(), null,
+                    lostDays.toByteArray(), regainedDays.toByteArray(), change, null));
+            sprintRepository.addCurrentPersonDays(sprint.getId(), change);
+        }
+        deltaRepository.saveAll(deltas);
+    }
+
+    /**
+     * Records that a public holiday was added to or removed from the jurisdiction of {@code members}
+     * on a working day. In every started sprint of their current teams, a new holiday takes the day
+     * from each member still counted on it, and a removed one gives it back to each member who is
+     * not on leave that day. The calendar still holds the old holidays, so the caller says who is.
+     */
+    public void recordHolidayChange(LocalDate date, boolean added, Collection<TeamMember> members,
+                                    Set<Long> teamMemberIdsOnLeave) {
+        Map<Long, Long> teamIdsByMember = new HashMap<>();
+        for (TeamMember member : members) {
+            if (member.getTeam() != null) {
+                teamIdsByMember.put(member.getId(), member.getTeam().getId());
+            }
+        }
+        if (teamIdsByMember.isEmpty()) {
+            return;
+        }
+
+        List<Sprint> sprints = sprintRepository.findStartedInPeriod(new HashSet<>(teamIdsByMember.values()), date, date);
+        if (sprints.isEmpty()) {
+            return;
+        }
+        List<Long> sprintIds = sprints.stream().map(Sprint::getId).toList();
+        Map<SnapshotKey, List<SprintCapacityDelta>> recorded = new HashMap<>();
+        for (SprintCapacityDelta delta : deltaRepository.findBySprintsAndMembers(sprintIds, teamIdsByMember.keySet())) {
+            recorded.computeIfAbsent(new SnapshotKey(delta.getSprint().getId(), delta.getTeamMemberId()),
+                    key -> new ArrayList<>()).add(delta);
+        }
+
+        List<SprintCapacityDelta> deltas = new ArrayList<>();
+        Map<Long, Double> personDays = new HashMap<>();
+        for (SprintMemberSnapshot snapshot : snapshotRepository.findBySprintsAndMembers(sprintIds, teamIdsByMember.keySet())) {
+            Sprint sprint = snapshot.getSprint();
+            Long teamMemberId = snapshot.getTeamMemberId();
+            if (!sprint.getTeam().getId().equals(teamIdsByMember.get(teamMemberId))) {
+                continue;
+            }
+
+            int day = (int) (date.toEpochDay() - sprint.getStartDate().toEpochDay());
+            boolean countedOn = counted(snapshot, recorded.getOrDefault(
+                    new SnapshotKey(sprint.getId(), teamMemberId), List.of())).get(day);
+            if (added ? !countedOn : countedOn || teamMemberIdsOnLeave.contains(teamMemberId)) {
+                continue;
+            }
+
+            BitSet changed = new BitSet();
+            changed.set(day);
+            byte[] none = new byte[0];
+            double change = (added ? -1 : 1) * weight(snapshot);
+            deltas.add(new SprintCapacityDelta(null, sprint, teamMemberId, null,
+                    added ? changed.toByteArray() : none, added ? none : changed.toByteArray(), change, null));
+            personDays.merge(sprint.getId(), change, Double::sum);
+        }
+        personDays.forEach(sprintRepository::addCurrentPersonDays);
+        deltaRepository.saveAll(deltas);
+    }
+
+    /**
+     * Snapshots of the member in the team's active sprints that have not ended before {@code today},
+     * with the deltas recorded for them.
+     */
+    private CountedDays countedDays(Long teamId, Long teamMemberId, LocalDate today) {
+        List<Sprint> sprints = sprintRepository.findByTeamIdAndStatusAndEndDateGreaterThanEqual(
+                teamId, Sprint.SprintStatus.ACTIVE, today);
+        if (sprints.isEmpty()) {
+            return new CountedDays(List.of(), Map.of());
+        }
+
+        List<Long> sprintIds = sprints.stream().map(Sprint::getId).toList();
+        Map<Long, List<SprintCapacityDelta>> deltasBySprint = new HashMap<>();
+        for (SprintCapacityDelta delta : deltaRepository.findBySprintsAndMembers(sprintIds, List.of(teamMemberId))) {
+            deltasBySprint.computeIfAbsent(delta.getSprint().getId(), sprintId -> new ArrayList<>()).add(delta);
+        }
+        return new CountedDays(snapshotRepository.findBySprintsAndMembers(sprintIds, List.of(teamMemberId)),
+                deltasBySprint);
+    }
+
+    /**
+     * The days a snapshot's member currently counts as available: the snapshot with its deltas applied in order.
+     */
+    private static BitSet counted(SprintMemberSnapshot snapshot, List<SprintCapacityDelta> deltas) {
+        BitSet available = BitSet.valueOf(snapshot.getAvailability());
+        for (SprintCapacityDelta delta : deltas) {
+            available.andNot(BitSet.valueOf(delta.getLostDays()));
+            available.or(BitSet.valueOf(delta.getRegainedDays()));
+        }
+        return available;
+    }
+
+    /**
+     * Offset of today in the sprint, or 0 when it has not started yet.
+     */
+    private static int fromToday(Sprint sprint, LocalDate today) {
+        return (int) Math.max(today.toEpochDay() - sprint.getStartDate().toEpochDay(), 0);
+    }
+
+    /**
+     * Marks the working, non-holiday sprint days covered by each span of the sprint's team.
+     */
+    private void markDays(Sprint sprint, Collection<LeaveSpan> spans, Map<ChangeKey, BitSet> marked) {
+        LocalDate startDate = sprint.getStartDate();
+        int days = days(startDate, sprint.getEndDate());
+        for (LeaveSpan span : spans) {
+            if (!span.teamId().equals(sprint.getTeam().getId())
+                    || span.startDate().isAfter(sprint.getEndDate()) || span.endDate().isBefore(startDate)) {
+                continue;
+            }
+
+            BitSet covered = new BitSet(days);
+            covered.set((int) Math.max(span.startDate().toEpochDay() - startDate.toEpochDay(), 0),
+                    (int) Math.min(span.endDate().toEpochDay() - startDate.toEpochDay(), days - 1) + 1);
+            covered.and(CapacityService.workingDays(startDate, days));
+            holidayCalendarService.clearHolidays(span.jurisdiction(), startDate, days, covered);
+
+            marked.computeIfAbsent(new ChangeKey(span.teamMemberId(), span.leaveId()), key -> new BitSet(days))
+                    .or(covered);
+        }
+    }
+
+    private List<SprintMemberSnapshot> takeSnapshots(Sprint sprint) {
+        LocalDate startDate = sprint.getStartDate();
+        int days = days(startDate, sprint.getEndDate());
+        BitSet workingDays = CapacityService.workingDays(startDate, days);
+        BitSet available = new BitSet(days);
+
+        List<SprintMemberSnapshot> snapshots = new ArrayList<>();
+        for (TeamMember member : teamMemberRepository.findByTeamIdWithLeaves(sprint.getTeam().getId())) {
+            capacityService.markAvailability(member, startDate, days, workingDays, available);
+            snapshots.add(new SprintMemberSnapshot(
+                    null,
+                    sprint,
+                    member.getId(),
+                    member.getFullName(),
+                    member.getCapacityPercentage(),
+                    available.toByteArray(),
+                    available.cardinality()
+            ));
+        }
+        return snapshots;
+    }
+
+    private Sprint findSprint(Long id) {
+        return sprintRepository.findWithTeamById(id)
+                .orElseThrow(() -> new RuntimeException("Sprint not found with id: " + id));
+    }
+
+    private static int countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        return CapacityService.workingDays(startDate, days(startDate, endDate)).cardinality();
+    }
+
+    private static int days(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Start date cannot be after end date");
+        }
+        long days = endDate.toEpochDay() - startDate.toEpochDay() + 1;
+        if (days > CapacityService.MAX_RANGE_DAYS) {
+            throw new RuntimeException("Sprints cannot exceed " + CapacityService.MAX_RANGE_DAYS + " days");
+        }
+        return (int) days;
+    }
+
+    private static double weight(SprintMemberSnapshot snapshot) {
+        Double capacityPercentage = snapshot.getCapacityPercentage();
+        return capacityPercentage == null ? 1.0 : capacityPercentage / 100.0;
+    }
+
+    private SprintDto convertToDto(Sprint sprint) {
+        SprintDto dto = new SprintDto();
+        dto.setId(sprint.getId());
+        dto.setVersion(sprint.getVersion());
+        dto.setName(sprint.getName());
+        dto.setTeamId(sprint.getTeam().getId());
+        dto.setTeamName(sprint.getTeam().getName());
+        dto.setStartDate(sprint.getStartDate());
+        dto.setEndDate(sprint.getEndDate());
+        dto.setWorkingDays(sprint.getWorkingDays());
+        dto.setStatus(sprint.getStatus());
+        dto.setCommittedPoints(sprint.getCommittedPoints());
+        dto.setCompletedPoints(sprint.getCompletedPoints());
+        dto.setSnapshotAt(sprint.getSnapshotAt());
+        dto.setSnapshotPersonDays(sprint.getSnapshotPersonDays());
+        dto.setCurrentPersonDays(sprint.getCurrentPersonDays());
+        dto.setCreatedAt(sprint.getCreatedAt());
+        dto.setUpdatedAt(sprint.getUpdatedAt());
+        return dto;
+    }
+
+    private record SnapshotKey(Long sprintId, Long teamMemberId) {
+    }
+
+    private record ChangeKey(Long teamMemberId, Long leaveId) {
+    }
+
+    private record CountedDays(List<SprintMemberSnapshot> snapshots, Map<Long, List<SprintCapacityDelta>> deltasBySprint) {
+
+        BitSet of(SprintMemberSnapshot snapshot) {
+            return counted(snapshot, deltasBySprint.getOrDefault(snapshot.getSprint().getId(), List.of()));
+        }
+    }
+}
\ No newline at end of file
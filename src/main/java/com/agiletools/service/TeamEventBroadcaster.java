@@ -0,0 +1,181 @@
+package com.agiletools.service;
+
+import com.agiletools.config.TeamEventProperties;
+import com.agiletools.dto.ChangeDto;
+import com.agiletools.dto.TeamEventBatchDto;
+import com.agiletools.dto.TeamEventDto;
+import com.agiletools.model.Tombstone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes committed leave and roster changes to Server-Sent Events subscribers of a team.
+ *
+ * <p>Changes are collected per team and flushed every {@code app.team-events.flush-interval}, so a
+ * burst of writes reaches subscribers as one batch, with repeated changes to the same entity
+ * collapsed into the last one. Each subscriber has a bounded queue drained by its own virtual
+ * thread, which costs next to nothing while the connection is idle. A subscriber whose queue is
+ * full is disconnected rather than slowing down the others; it can catch up through the change feed.
+ */
+@Component
+public class TeamEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamEventBroadcaster.class);
+
+    private static final Object HEARTBEAT = new Object();
+
+    private static final Object END = new Object();
+
+    @Autowired
+    private TeamEventProperties teamEventProperties;
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribersByTeam = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, Map<EventKey, TeamEventDto>> pendingByTeam = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long teamId) {
+        SseEmitter emitter = new SseEmitter(teamEventProperties.getSubscriptionTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(teamId, emitter, teamEventProperties.getSubscriberBufferSize());
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        subscribersByTeam.computeIfAbsent(teamId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.start();
+        return emitter;
+    }
+
+    /**
+     * Queues the change for the team's subscribers once the current transaction commits.
+     */
+    public void publishAfterCommit(Long teamId, Tombstone.EntityType type, ChangeDto.Operation operation, Long entityId) {
+        if (teamId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            if (!subscribersByTeam.containsKey(teamId)) {
+                return;
+            }
+            pendingByTeam.compute(teamId, (id, pending) -> {
+                Map<EventKey, TeamEventDto> events = pending != null ? pending : new LinkedHashMap<>();
+                EventKey key = new EventKey(type, entityId);
+                // Re-inserting moves a repeated change to the position of its latest occurrence.
+                events.remove(key);
+                events.put(key, new TeamEventDto(type, operation, entityId));
+                return events;
+            });
+        });
+    }
+
+    @Scheduled(fixedDelayString = "#{@teamEventProperties.flushInterval.toMillis()}")
+    public void flush() {
+        for (Long teamId : pendingByTeam.keySet()) {
+            Map<EventKey, TeamEventDto> events = pendingByTeam.remove(teamId);
+            Set<Subscriber> subscribers = subscribersByTeam.get(teamId);
+            if (events == null || subscribers == null) {
+                continue;
+            }
+            TeamEventBatchDto batch = new TeamEventBatchDto(teamId, new ArrayList<>(events.values()));
+            subscribers.forEach(subscriber -> subscriber.offer(batch));
+            // Nothing follows the deletion of the team, so its streams end after delivering it.
+            TeamEventDto teamEvent = events.get(new EventKey(Tombstone.EntityType.TEAM, teamId));
+            if (teamEvent != null && teamEvent.getOperation() == ChangeDto.Operation.DELETE) {
+                subscribers.forEach(subscriber -> subscriber.offer(END));
+            }
+        }
+    }
+
+    /**
+     * Idle connections get a comment now and then, which keeps proxies from closing them and lets
+     * a write fail on connections the client has already dropped.
+     */
+    @Scheduled(fixedDelayString = "#{@teamEventProperties.heartbeatInterval.toMillis()}")
+    public void heartbeat() {
+        subscribersByTeam.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribersByTeam.computeIfPresent(subscriber.teamId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private final class Subscriber {
+
+        private final Long teamId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue;
+        private volatile Thread drainer;
+        private volatile boolean closed;
+
+        private Subscriber(Long teamId, SseEmitter emitter, int bufferSize) {
+            this.teamId = teamId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void start() {
+            // Sends the response headers right away instead of with the first change.
+            queue.offer(HEARTBEAT);
+            drainer = Thread.ofVirtual().name("team-events-" + teamId).start(this::drain);
+        }
+
+        void offer(Object message) {
+            if (!closed && !queue.offer(message)) {
+                log.warn("Disconnecting slow event subscriber of team {}", teamId);
+                close();
+                emitter.complete();
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            remove(this);
+            if (drainer != null) {
+                drainer.interrupt();
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    Object message = queue.take();
+                    if (message == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else if (message == END) {
+                        emitter.complete();
+                        close();
+                    } else {
+                        emitter.send(SseEmitter.event().name("changes").data(message, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private record EventKey(Tombstone.EntityType type, Long entityId) {
+    }
+}
\ No newline at end of file
@@ -1,45 +1,137 @@
 package com.agiletools.service;
 
+import com.agiletools.dto.BatchLookupDto;
+import com.agiletools.dto.BulkResultDto;
+import com.agiletools.dto.BulkRowResultDto;
+import com.agiletools.dto.ChangeDto;
+import com.agiletools.dto.OutOfOfficeDto;
 import com.agiletools.dto.TeamMemberDto;
 import com.agiletools.model.Team;
 import com.agiletools.model.TeamMember;
+import com.agiletools.model.Tombstone;
 import com.agiletools.repository.TeamMemberRepository;
 import com.agiletools.repository.TeamRepository;
+import com.agiletools.repository.TombstoneRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TeamMemberService {
 
+    static final int MAX_BULK_ROWS = 10_000;
+
     @Autowired
     private TeamMemberRepository teamMemberRepository;
 
     @Autowired
     private TeamRepository teamRepository;
 
-    public List<TeamMemberDto> getAllMembers() {
-        return teamMemberRepository.findAll().stream()
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    @Autowired
+    private OutOfOfficeIndex outOfOfficeIndex;
+
+    @Autowired
+    private MemberLocks memberLocks;
+
+    @Autowired
+    private TeamRosterCache teamRosterCache;
+
+    @Autowired
+    private CapacityAggregateService capacityAggregateService;
+
+    @Autowired
+    private TeamEventBroadcaster teamEventBroadcaster;
+
+    @Autowired
+    private SprintService sprintService;
+
+    @Autowired
+    private Validator validator;
+
+    public List<TeamMemberDto> getAllMembers(Long after, int limit) {
+        return teamMemberRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit)).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
-    public List<TeamMemberDto> getMembersByTeam(Long teamId) {
-        return teamMemberRepository.findByTeamId(teamId).stream()
+    public List<TeamMemberDto> getMembersByTeam(Long teamId, Long after, int limit) {
+        return teamMemberRepository.findByTeamIdAndIdGreaterThanOrderByIdAsc(teamId, after, Limit.of(limit)).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public String getMembersETag(Long after, int limit) {
+        return ETags.of("members", teamMemberRepository.fingerprint(after, limit), after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public String getMembersByTeamETag(Long teamId, Long after, int limit) {
+        return ETags.of("team-members", teamId, teamMemberRepository.fingerprintByTeamId(teamId, after, limit), after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public String getMemberETag(Long id) {
+        return ETags.ofExisting(teamMemberRepository.fingerprintById(id), "member", id);
+    }
+
     public TeamMemberDto getMemberById(Long id) {
-        TeamMember member = teamMemberRepository.findById(id)
+        TeamMember member = teamMemberRepository.findWithTeamById(id)
                 .orElseThrow(() -> new RuntimeException("Team member not found with id: " + id));
         return convertToDto(member);
     }
 
+    public BatchLookupDto<TeamMemberDto> getMembersByIds(List<Long> ids) {
+        return BatchLookup.resolve(ids, teamMemberRepository::findByIdIn, TeamMember::getId, this::convertToDto);
+    }
+
+    /**
+     * Members on leave on at least one day of the range, across all teams, answered from the
+     * {@link OutOfOfficeIndex}. Member details cost a query and are only loaded when asked for.
+     */
+    @Transactional(readOnly = true)
+    public OutOfOfficeDto getOutOfOffice(LocalDate startDate, LocalDate endDate, boolean details) {
+        if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Start date cannot be after end date");
+        }
+        if (endDate.toEpochDay() - startDate.toEpochDay() + 1 > CapacityService.MAX_RANGE_DAYS) {
+            throw new RuntimeException("Out of office range cannot exceed " + CapacityService.MAX_RANGE_DAYS + " days");
+        }
+
+        List<Long> ids = outOfOfficeIndex.findOutOfOffice(startDate, endDate);
+        List<TeamMemberDto> members = null;
+        if (details) {
+            members = InClauseChunks.query(ids, teamMemberRepository::findByIdIn).stream()
+                    .sorted(Comparator.comparing(TeamMember::getId))
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+        }
+        return new OutOfOfficeDto(startDate, endDate, ids.size(), ids, members);
+    }
+
     public TeamMemberDto createMember(TeamMemberDto memberDto) {
         if (teamMemberRepository.existsByEmail(memberDto.getEmail())) {
             throw new RuntimeException("Team member with email '" + memberDto.getEmail() + "' already exists");
@@ -65,17 +157,116 @@ public class TeamMemberService {
         member.setTeam(team);
 
         TeamMember savedMember = teamMemberRepository.save(member);
+        teamRosterCache.invalidateAfterCommit(memberDto.getTeamId());
+        teamEventBroadcaster.publishAfterCommit(memberDto.getTeamId(), Tombstone.EntityType.TEAM_MEMBER,
+                ChangeDto.Operation.UPSERT, savedMember.getId());
         return convertToDto(savedMember);
     }
 
+    /**
+     * Creates many members at once, accepting or rejecting each row on its own. Teams and already
+     * registered emails for the whole batch are loaded with IN queries rather than per row, and the
+     * accepted rows are inserted in JDBC batches.
+     */
+    public BulkResultDto createMembers(List<TeamMemberDto> memberDtos) {
+        if (memberDtos.size() > MAX_BULK_ROWS) {
+            throw new RuntimeException("Bulk requests cannot exceed " + MAX_BULK_ROWS + " rows");
+        }
+
+        Set<Long> teamIds = memberDtos.stream()
+                .map(TeamMemberDto::getTeamId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Team> teams = teamRepository.findAllById(teamIds).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+
+        Set<String> emails = memberDtos.stream()
+                .map(TeamMemberDto::getEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> takenEmails = new HashSet<>(
+                InClauseChunks.query(emails, teamMemberRepository::findExistingEmails));
+
+        List<BulkRowResultDto> rows = new ArrayList<>(memberDtos.size());
+        List<TeamMember> accepted = new ArrayList<>();
+        List<BulkRowResultDto> acceptedRows = new ArrayList<>();
+
+        for (int index = 0; index < memberDtos.size(); index++) {
+            TeamMemberDto memberDto = memberDtos.get(index);
+            String error = validateBulkRow(memberDto, teams, takenEmails);
+            if (error != null) {
+                rows.add(BulkRowResultDto.rejected(index, error));
+                continue;
+            }
+
+            TeamMember member = new TeamMember(
+                    memberDto.getFirstName(),
+                    memberDto.getLastName(),
+                    memberDto.getEmail(),
+                    memberDto.getJurisdiction()
+            );
+            if (memberDto.getCapacityPercentage() != null) {
+                member.setCapacityPercentage(memberDto.getCapacityPercentage());
+            }
+            member.setTeam(memberDto.getTeamId() != null ? teams.get(memberDto.getTeamId()) : null);
+            accepted.add(member);
+
+            if (memberDto.getEmail() != null) {
+                takenEmails.add(memberDto.getEmail());
+            }
+
+            BulkRowResultDto row = BulkRowResultDto.accepted(index);
+            rows.add(row);
+            acceptedRows.add(row);
+        }
+
+        List<TeamMember> savedMembers = teamMemberRepository.saveAll(accepted);
+        teamRosterCache.invalidateAfterCommit(savedMembers.stream()
+                .map(TeamMember::getTeam)
+                .filter(Objects::nonNull)
+                .map(Team::getId)
+                .collect(Collectors.toSet()));
+        for (int i = 0; i < savedMembers.size(); i++) {
+            TeamMember savedMember = savedMembers.get(i);
+            acceptedRows.get(i).setId(savedMember.getId());
+            if (savedMember.getTeam() != null) {
+                teamEventBroadcaster.publishAfterCommit(savedMember.getTeam().getId(), Tombstone.EntityType.TEAM_MEMBER,
+                        ChangeDto.Operation.UPSERT, savedMember.getId());
+            }
+        }
+
+        return new BulkResultDto(rows);
+    }
+
     public TeamMemberDto updateMember(Long id, TeamMemberDto memberDto) {
-        TeamMember member = teamMemberRepository.findById(id)
+        return updateMember(id, memberDto, null);
+    }
+
+    /**
+     * Updates the member if it still matches {@code ifMatch} (when given) and the version in the DTO
+     * (when given).
+     */
+    public TeamMemberDto updateMember(Long id, TeamMemberDto memberDto, String ifMatch) {
+        memberLocks.lockUntilCompletion(id);
+        // The row lock serializes with leave writes made through other instances.
+        TeamMember member = teamMemberRepository.findForUpdateById(id)
                 .orElseThrow(() -> new RuntimeException("Team member not found with id: " + id));
 
+        if (memberDto.getVersion() != null && !memberDto.getVersion().equals(member.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(TeamMember.class, id);
+        }
+        if (ifMatch != null) {
+            ETags.checkIfMatch(ifMatch, getMemberETag(id), "Team member", id);
+        }
+
         if (!member.getEmail().equals(memberDto.getEmail()) && teamMemberRepository.existsByEmail(memberDto.getEmail())) {
             throw new RuntimeException("Team member with email '" + memberDto.getEmail() + "' already exists");
         }
 
+        Long previousTeamId = member.getTeam() != null ? member.getTeam().getId() : null;
+        String previousJurisdiction = member.getJurisdiction();
+        double previousWeight = CapacityService.weight(member);
+
         member.setFirstName(memberDto.getFirstName());
         member.setLastName(memberDto.getLastName());
         member.setEmail(memberDto.getEmail());
@@ -91,20 +282,59 @@ public class TeamMemberService {
             member.setTeam(team);
         }
 
-        TeamMember updatedMember = teamMemberRepository.save(member);
+        TeamMember updatedMember = teamMemberRepository.saveAndFlush(member);
+        Long teamId = updatedMember.getTeam() != null ? updatedMember.getTeam().getId() : null;
+        double weight = CapacityService.weight(updatedMember);
+        if (!Objects.equals(previousTeamId, teamId) || !Objects.equals(previousJurisdiction, updatedMember.getJurisdiction())
+                || previousWeight != weight) {
+            capacityAggregateService.apply(
+                    LeaveSpan.of(updatedMember.getLeaves(), previousTeamId, previousJurisdiction, previousWeight),
+                    LeaveSpan.of(updatedMember.getLeaves(), teamId, updatedMember.getJurisdiction(), weight));
+        }
+        teamRosterCache.invalidateAfterCommit(previousTeamId);
+        teamRosterCache.invalidateAfterCommit(memberDto.getTeamId());
+        if (!Objects.equals(previousTeamId, teamId)) {
+            sprintService.recordMemberRemoved(id, previousTeamId);
+            sprintService.recordMemberJoined(updatedMember);
+            teamEventBroadcaster.publishAfterCommit(previousTeamId, Tombstone.EntityType.TEAM_MEMBER,
+                    ChangeDto.Operation.DELETE, id);
+        }
+        teamEventBroadcaster.publishAfterCommit(teamId, Tombstone.EntityType.TEAM_MEMBER, ChangeDto.Operation.UPSERT, id);
         return convertToDto(updatedMember);
     }
 
+    /**
+     * Deletes the member and its leaves. The leaves are read once to take them out of the capacity
+     * aggregate, but deleted and tombstoned with set-based statements rather than one by one. Those
+     * run last, like in {@link TeamService#deleteTeam}.
+     */
     public void deleteMember(Long id) {
-        if (!teamMemberRepository.existsById(id)) {
-            throw new RuntimeException("Team member not found with id: " + id);
+        memberLocks.lockUntilCompletion(id);
+        // The row lock serializes with leave writes made through other instances.
+        TeamMember member = teamMemberRepository.findForUpdateById(id)
+                .orElseThrow(() -> new RuntimeException("Team member not found with id: " + id));
+        capacityAggregateService.apply(LeaveSpan.of(member.getLeaves()), List.of());
+        if (member.getTeam() != null) {
+            sprintService.recordMemberRemoved(id, member.getTeam().getId());
+        }
+
+        tombstoneRepository.deleteMemberLeaves(id, LocalDateTime.now());
+        teamMemberRepository.delete(member);
+        tombstoneRepository.save(new Tombstone(Tombstone.EntityType.TEAM_MEMBER, id));
+
+        leaveIntervalIndex.onMemberDeleted(id);
+        outOfOfficeIndex.onMemberDeleted(id);
+        if (member.getTeam() != null) {
+            teamRosterCache.invalidateAfterCommit(member.getTeam().getId());
+            teamEventBroadcaster.publishAfterCommit(member.getTeam().getId(), Tombstone.EntityType.TEAM_MEMBER,
+                    ChangeDto.Operation.DELETE, id);
         }
-        teamMemberRepository.deleteById(id);
     }
 
-    private TeamMemberDto convertToDto(TeamMember member) {
+    TeamMemberDto convertToDto(TeamMember member) {
         TeamMemberDto dto = new TeamMemberDto();
         dto.setId(member.getId());
+        dto.setVersion(member.getVersion());
         dto.setFirstName(member.getFirstName());
         dto.setLastName(member.getLastName());
         dto.setEmail(member.getEmail());
@@ -120,4 +350,18 @@ public class TeamMemberService {
 
         return dto;
     }
+
+    private String validateBulkRow(TeamMemberDto memberDto, Map<Long, Team> teams, Set<String> takenEmails) {
+        Set<ConstraintViolation<TeamMemberDto>> violations = validator.validate(memberDto);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (memberDto.getEmail() != null && takenEmails.contains(memberDto.getEmail())) {
+            return "Team member with email '" + memberDto.getEmail() + "' already exists";
+        }
+        if (memberDto.getTeamId() != null && !teams.containsKey(memberDto.getTeamId())) {
+            return "Team not found with id: " + memberDto.getTeamId();
+        }
+        return null;
+    }
 }
\ No newline at end of file
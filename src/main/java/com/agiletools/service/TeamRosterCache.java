@@ -0,0 +1,95 @@
+package com.agiletools.service;
+
+import com.agiletools.config.RosterCacheProperties;
+import com.agiletools.dto.CacheStatsDto;
+import com.agiletools.dto.TeamDto;
+import com.agiletools.dto.TeamMemberDto;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded LRU cache of team rosters ({@link TeamDto} with members) keyed by team id. The cache
+ * keeps its own copy of each roster with an unmodifiable member list and hands out copies, so callers
+ * may change what they get or put without touching the cached roster.
+ */
+@Component
+public class TeamRosterCache {
+
+    private final int maxSize;
+    private final LinkedHashMap<Long, TeamDto> rosters;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TeamRosterCache(RosterCacheProperties properties) {
+        this.maxSize = properties.getMaxSize();
+        this.rosters = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TeamDto> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized TeamDto get(Long teamId) {
+        TeamDto roster = rosters.get(teamId);
+        (roster != null ? hits : misses).incrementAndGet();
+        return roster != null ? copy(roster) : null;
+    }
+
+    /**
+     * Returns a stamp to pass to {@link #put} for a roster about to be loaded from the database.
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Caches a roster unless an invalidation happened since {@code stamp} was taken, in which case
+     * the roster may have been read before that change committed.
+     */
+    public synchronized void put(Long teamId, TeamDto roster, long stamp) {
+        if (invalidations.get() == stamp) {
+            rosters.put(teamId, copy(roster));
+        }
+    }
+
+    /**
+     * Drops the rosters of the given teams once the current transaction commits.
+     */
+    public void invalidateAfterCommit(Collection<Long> teamIds) {
+        TransactionCallbacks.afterCommit(() -> invalidate(teamIds));
+    }
+
+    public void invalidateAfterCommit(Long teamId) {
+        if (teamId != null) {
+            invalidateAfterCommit(List.of(teamId));
+        }
+    }
+
+    private synchronized void invalidate(Collection<Long> teamIds) {
+        invalidations.incrementAndGet();
+        teamIds.forEach(rosters::remove);
+    }
+
+    private static TeamDto copy(TeamDto roster) {
+        List<TeamMemberDto> members = roster.getMembers() == null ? null
+                : roster.getMembers().stream().map(member -> member.toBuilder().build()).toList();
+        return roster.toBuilder().members(members).build();
+    }
+
+    public synchronized CacheStatsDto getStats() {
+        return new CacheStatsDto(rosters.size(), maxSize, hits.get(), misses.get(), evictions.get(), invalidations.get());
+    }
+}
\ No newline at end of file
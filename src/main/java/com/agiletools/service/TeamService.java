@@ -1,15 +1,26 @@
 package com.agiletools.service;
 
+import com.agiletools.dto.BatchLookupDto;
+import com.agiletools.dto.CacheStatsDto;
+import com.agiletools.dto.ChangeDto;
 import com.agiletools.dto.TeamDto;
 import com.agiletools.dto.TeamMemberDto;
 import com.agiletools.model.Team;
 import com.agiletools.model.TeamMember;
+import com.agiletools.model.Tombstone;
+import com.agiletools.repository.TeamMemberRepository;
 import com.agiletools.repository.TeamRepository;
+import com.agiletools.repository.TombstoneRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,16 +30,101 @@ public class TeamService {
     @Autowired
     private TeamRepository teamRepository;
 
-    public List<TeamDto> getAllTeams() {
-        return teamRepository.findAll().stream()
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    @Autowired
+    private OutOfOfficeIndex outOfOfficeIndex;
+
+    @Autowired
+    private MemberLocks memberLocks;
+
+    @Autowired
+    private TeamRosterCache teamRosterCache;
+
+    @Autowired
+    private CapacityAggregateService capacityAggregateService;
+
+    @Autowired
+    private SprintService sprintService;
+
+    @Autowired
+    private TeamEventBroadcaster teamEventBroadcaster;
+
+    public List<TeamDto> getAllTeams(Long after, int limit) {
+        return teamRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit)).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public String getTeamsETag(Long after, int limit) {
+        return ETags.of("teams", teamRepository.fingerprint(after, limit), after, limit);
+    }
+
+    /**
+     * Returns the ETag of the roster returned by {@link #getTeamById}, or {@code null} when the team
+     * does not exist. A cached roster is revalidated without a database round trip; otherwise the
+     * tag comes from one aggregate query, so a poll that ends in {@code 304} loads nothing.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getTeamETag(Long id) {
+        TeamDto cached = teamRosterCache.get(id);
+        if (cached != null) {
+            long idSum = 0;
+            long versionSum = cached.getVersion();
+            List<TeamMemberDto> members = cached.getMembers() != null ? cached.getMembers() : List.of();
+            for (TeamMemberDto member : members) {
+                idSum += member.getId();
+                versionSum += member.getVersion();
+            }
+            return rosterETag(id, members.size(), idSum, versionSum);
+        }
+        return getStoredTeamETag(id);
+    }
+
+    private String getStoredTeamETag(Long id) {
+        return teamRepository.fingerprintRosterById(id)
+                .map(fingerprint -> rosterETag(id, fingerprint.getCount(), fingerprint.getIdSum(),
+                        fingerprint.getVersionSum()))
+                .orElse(null);
+    }
+
+    private static String rosterETag(Long id, long count, long idSum, long versionSum) {
+        return ETags.of("team", id, count, idSum, versionSum);
+    }
+
+    /**
+     * Returns the team with its members, served from the roster cache when possible. Runs without a
+     * transaction of its own so that a cache hit does not acquire a database connection.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public TeamDto getTeamById(Long id) {
+        TeamDto cached = teamRosterCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = teamRosterCache.stamp();
         Team team = teamRepository.findByIdWithMembers(id)
                 .orElseThrow(() -> new RuntimeException("Team not found with id: " + id));
-        return convertToDtoWithMembers(team);
+        TeamDto dto = convertToDtoWithMembers(team);
+        teamRosterCache.put(id, dto, stamp);
+        return dto;
+    }
+
+    public CacheStatsDto getRosterCacheStats() {
+        return teamRosterCache.getStats();
+    }
+
+    public BatchLookupDto<TeamDto> getTeamsByIds(List<Long> ids) {
+        return BatchLookup.resolve(ids, teamRepository::findAllById, Team::getId, this::convertToDto);
     }
 
     public TeamDto createTeam(TeamDto teamDto) {
@@ -42,9 +138,24 @@ public class TeamService {
     }
 
     public TeamDto updateTeam(Long id, TeamDto teamDto) {
+        return updateTeam(id, teamDto, null);
+    }
+
+    /**
+     * Updates the team if it still matches {@code ifMatch} (when given) and the version in the DTO
+     * (when given).
+     */
+    public TeamDto updateTeam(Long id, TeamDto teamDto, String ifMatch) {
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Team not found with id: " + id));
 
+        if (teamDto.getVersion() != null && !teamDto.getVersion().equals(team.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Team.class, id);
+        }
+        if (ifMatch != null) {
+            ETags.checkIfMatch(ifMatch, getStoredTeamETag(id), "Team", id);
+        }
+
         if (!team.getName().equals(teamDto.getName()) && teamRepository.existsByName(teamDto.getName())) {
             throw new RuntimeException("Team with name '" + teamDto.getName() + "' already exists");
         }
@@ -52,20 +163,44 @@ public class TeamService {
         team.setName(teamDto.getName());
         team.setDescription(teamDto.getDescription());
 
-        Team updatedTeam = teamRepository.save(team);
+        Team updatedTeam = teamRepository.saveAndFlush(team);
+        teamRosterCache.invalidateAfterCommit(id);
         return convertToDto(updatedTeam);
     }
 
+    /**
+     * Deletes the team with its members, their leaves and the team's sprints using set-based
+     * statements, so neither members nor leaves are loaded and memory use does not depend on how
+     * much history the team has. The deletes that write tombstones run last, with the deletion time
+     * taken just before them, so the tombstones are as close to the commit as they can be.
+     */
     public void deleteTeam(Long id) {
-        if (!teamRepository.existsById(id)) {
-            throw new RuntimeException("Team not found with id: " + id);
-        }
-        teamRepository.deleteById(id);
+        Team team = teamRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Team not found with id: " + id));
+        List<Long> memberIds = teamMemberRepository.findIdsByTeamId(id);
+        memberLocks.lockUntilCompletion(memberIds);
+        InClauseChunks.query(new TreeSet<>(memberIds), teamMemberRepository::findForUpdateByIdIn);
+        sprintService.deleteTeamSprints(id);
+        capacityAggregateService.removeTeam(id);
+
+        // Members and their leaves go with the team, so each needs its own tombstone.
+        LocalDateTime deletedAt = LocalDateTime.now();
+        tombstoneRepository.deleteTeamLeaves(id, deletedAt);
+        tombstoneRepository.deleteTeamMembers(id, deletedAt);
+        teamRepository.delete(team);
+        tombstoneRepository.save(new Tombstone(Tombstone.EntityType.TEAM, id));
+
+        teamRosterCache.invalidateAfterCommit(id);
+        memberIds.forEach(leaveIntervalIndex::onMemberDeleted);
+        memberIds.forEach(outOfOfficeIndex::onMemberDeleted);
+        // One event for the team stands for its members and leaves, and ends its event streams.
+        teamEventBroadcaster.publishAfterCommit(id, Tombstone.EntityType.TEAM, ChangeDto.Operation.DELETE, id);
     }
 
-    private TeamDto convertToDto(Team team) {
+    TeamDto convertToDto(Team team) {
         TeamDto dto = new TeamDto();
         dto.setId(team.getId());
+        dto.setVersion(team.getVersion());
         dto.setName(team.getName());
         dto.setDescription(team.getDescription());
         dto.setCreatedAt(team.getCreatedAt());
@@ -86,6 +221,7 @@ public class TeamService {
     private TeamMemberDto convertMemberToDto(TeamMember member) {
         TeamMemberDto dto = new TeamMemberDto();
         dto.setId(member.getId());
+        dto.setVersion(member.getVersion());
         dto.setFirstName(member.getFirstName());
         dto.setLastName(member.getLastName());
         dto.setEmail(member.getEmail());
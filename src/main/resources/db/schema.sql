@@ -0,0 +1,135 @@
+-- Schema for the prod profile, which runs with ddl-auto: none. Keep it in sync with the entities;
+-- scripts/build-prod.sh checks it with ddl-auto: validate during the CDS training run.
+
+CREATE SEQUENCE IF NOT EXISTS team_members_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS leaves_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS team_leave_days_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sprints_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sprint_member_snapshots_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sprint_capacity_deltas_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tombstones_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS teams (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    version BIGINT,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS team_members (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) UNIQUE,
+    jurisdiction VARCHAR(255),
+    capacity_percentage FLOAT(53),
+    team_id BIGINT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_team_members_team FOREIGN KEY (team_id) REFERENCES teams
+);
+
+CREATE TABLE IF NOT EXISTS leaves (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    leave_type ENUM ('ANNUAL_LEAVE', 'CONFERENCE', 'OTHER', 'PERSONAL_LEAVE', 'PUBLIC_HOLIDAY', 'SICK_LEAVE'),
+    description VARCHAR(255),
+    team_member_id BIGINT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_leaves_team_member FOREIGN KEY (team_member_id) REFERENCES team_members
+);
+
+CREATE TABLE IF NOT EXISTS public_holidays (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    jurisdiction VARCHAR(255) NOT NULL,
+    holiday_date DATE NOT NULL,
+    name VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    UNIQUE (jurisdiction, holiday_date)
+);
+
+CREATE TABLE IF NOT EXISTS team_leave_days (
+    id BIGINT NOT NULL,
+    team_id BIGINT NOT NULL,
+    leave_date DATE NOT NULL,
+    leave_type ENUM ('ANNUAL_LEAVE', 'CONFERENCE', 'OTHER', 'PERSONAL_LEAVE', 'PUBLIC_HOLIDAY', 'SICK_LEAVE') NOT NULL,
+    people_out INTEGER NOT NULL,
+    person_days FLOAT(53) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE (team_id, leave_date, leave_type)
+);
+
+CREATE TABLE IF NOT EXISTS sprints (
+    id BIGINT NOT NULL,
+    version BIGINT,
+    team_id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    working_days INTEGER NOT NULL,
+    status ENUM ('ACTIVE', 'COMPLETED', 'PLANNED') NOT NULL,
+    committed_points FLOAT(53),
+    completed_points FLOAT(53),
+    snapshot_at TIMESTAMP(6),
+    snapshot_person_days FLOAT(53),
+    current_person_days FLOAT(53),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_sprints_team FOREIGN KEY (team_id) REFERENCES teams
+);
+
+CREATE TABLE IF NOT EXISTS sprint_member_snapshots (
+    id BIGINT NOT NULL,
+    sprint_id BIGINT NOT NULL,
+    team_member_id BIGINT NOT NULL,
+    member_name VARCHAR(255),
+    capacity_percentage FLOAT(53),
+    available_days INTEGER NOT NULL,
+    availability VARBINARY(46) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE (sprint_id, team_member_id),
+    CONSTRAINT fk_sprint_member_snapshots_sprint FOREIGN KEY (sprint_id) REFERENCES sprints
+);
+
+CREATE TABLE IF NOT EXISTS sprint_capacity_deltas (
+    id BIGINT NOT NULL,
+    sprint_id BIGINT NOT NULL,
+    team_member_id BIGINT NOT NULL,
+    leave_id BIGINT,
+    lost_days VARBINARY(46) NOT NULL,
+    regained_days VARBINARY(46) NOT NULL,
+    person_days FLOAT(53) NOT NULL,
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_sprint_capacity_deltas_sprint FOREIGN KEY (sprint_id) REFERENCES sprints
+);
+
+CREATE TABLE IF NOT EXISTS tombstones (
+    id BIGINT NOT NULL,
+    entity_type ENUM ('LEAVE', 'TEAM', 'TEAM_MEMBER') NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_teams_updated_at ON teams (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_team_members_team ON team_members (team_id);
+CREATE INDEX IF NOT EXISTS idx_team_members_jurisdiction ON team_members (jurisdiction);
+CREATE INDEX IF NOT EXISTS idx_team_members_updated_at ON team_members (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_leaves_member_dates ON leaves (team_member_id, start_date, end_date);
+CREATE INDEX IF NOT EXISTS idx_leaves_updated_at ON leaves (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_sprints_team_dates ON sprints (team_id, start_date, end_date);
+CREATE INDEX IF NOT EXISTS idx_sprint_capacity_deltas_sprint ON sprint_capacity_deltas (sprint_id);
+CREATE INDEX IF NOT EXISTS idx_tombstones_deleted_at ON tombstones (deleted_at, id);
@@ -0,0 +1,58 @@
+package com.agiletools;
+
+import com.agiletools.service.CapacityAggregateService;
+import com.agiletools.service.LeaveService;
+import com.agiletools.service.TeamMemberService;
+import com.agiletools.service.TeamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the prod profile against db/schema.sql with Hibernate validating the entities against it,
+ * so the hand-written schema cannot drift from the model unnoticed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:prod-schema;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true"
+})
+@ActiveProfiles("prod")
+class ProdSchemaTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 2);
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private CapacityAggregateService capacityAggregateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void entitiesAreWrittenAndDeletedThroughTheSchema() {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, "NL", 80.0);
+        TestData.createLeave(leaveService, memberId, MONDAY, MONDAY.plusDays(2));
+        assertThat(capacityAggregateService.rebuild().getMismatches()).isZero();
+
+        teamService.deleteTeam(teamId);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tombstones", Long.class)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM leaves", Long.class)).isZero();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.agiletools;
+
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.dto.TeamDto;
+import com.agiletools.dto.TeamMemberDto;
+import com.agiletools.model.Leave;
+import com.agiletools.service.LeaveService;
+import com.agiletools.service.TeamMemberService;
+import com.agiletools.service.TeamService;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates test data through the services, so that caches, indexes and aggregates are kept up to date
+ * as in a running application. Names and emails are unique within the JVM.
+ */
+public final class TestData {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private TestData() {
+    }
+
+    public static Long team(TeamService teamService) {
+        TeamDto team = new TeamDto();
+        team.setName("Team " + SEQUENCE.incrementAndGet());
+        return teamService.createTeam(team).getId();
+    }
+
+    public static Long member(TeamMemberService teamMemberService, Long teamId, String jurisdiction,
+                              Double capacityPercentage) {
+        int number = SEQUENCE.incrementAndGet();
+        TeamMemberDto member = new TeamMemberDto();
+        member.setFirstName("First" + number);
+        member.setLastName("Last" + number);
+        member.setEmail("member" + number + "@example.com");
+        member.setJurisdiction(jurisdiction);
+        member.setCapacityPercentage(capacityPercentage);
+        member.setTeamId(teamId);
+        return teamMemberService.createMember(member).getId();
+    }
+
+    public static LeaveDto leave(Long teamMemberId, LocalDate startDate, LocalDate endDate) {
+        LeaveDto leave = new LeaveDto(startDate, endDate, Leave.LeaveType.ANNUAL_LEAVE, null);
+        leave.setTeamMemberId(teamMemberId);
+        return leave;
+    }
+
+    public static Long createLeave(LeaveService leaveService, Long teamMemberId, LocalDate startDate, LocalDate endDate) {
+        return leaveService.createLeave(leave(teamMemberId, startDate, endDate)).getId();
+    }
+}
\ No newline at end of file
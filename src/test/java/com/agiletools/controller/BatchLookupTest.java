@@ -0,0 +1,92 @@
+package com.agiletools.controller;
+
+import com.agiletools.TestData;
+import com.agiletools.service.LeaveService;
+import com.agiletools.service.TeamMemberService;
+import com.agiletools.service.TeamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:batch-lookup;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class BatchLookupTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Test
+    void itemsComeBackInRequestOrderWithTheMissingIds() throws Exception {
+        Long teamId = TestData.team(teamService);
+        Long first = TestData.member(teamMemberService, teamId, null, 100.0);
+        Long second = TestData.member(teamMemberService, teamId, null, 100.0);
+
+        mockMvc.perform(get("/api/team-members/batch").param("ids", second + ",-1," + first + "," + second + ",-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(second.intValue(), first.intValue())))
+                .andExpect(jsonPath("$.missingIds", contains(-1, -2)));
+        mockMvc.perform(get("/api/teams/batch").param("ids", String.valueOf(teamId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(teamId.intValue())))
+                .andExpect(jsonPath("$.missingIds", hasSize(0)));
+    }
+
+    @Test
+    void longIdListsArePostedAndQueriedInChunks() throws Exception {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        Long firstLeave = TestData.createLeave(leaveService, memberId, MONDAY, MONDAY);
+        Long lastLeave = TestData.createLeave(leaveService, memberId, MONDAY.plusDays(7), MONDAY.plusDays(7));
+        List<Long> ids = new ArrayList<>();
+        ids.add(lastLeave);
+        LongStream.rangeClosed(1, 998).forEach(id -> ids.add(-id));
+        ids.add(firstLeave);
+
+        mockMvc.perform(post("/api/leaves/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(lastLeave.intValue(), firstLeave.intValue())))
+                .andExpect(jsonPath("$.missingIds", hasSize(998)));
+    }
+
+    @Test
+    void lookupsOfMoreThanAThousandIdsAreRejected() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+        mockMvc.perform(post("/api/teams/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isBadRequest());
+    }
+}
\ No newline at end of file
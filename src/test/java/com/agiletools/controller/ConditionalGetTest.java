@@ -0,0 +1,112 @@
+package com.agiletools.controller;
+
+import com.agiletools.TestData;
+import com.agiletools.service.LeaveService;
+import com.agiletools.service.TeamMemberService;
+import com.agiletools.service.TeamRosterCache;
+import com.agiletools.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-get;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private TeamRosterCache teamRosterCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void uncachedRosterIsRevalidatedWithoutLoadingIt() throws Exception {
+        Long teamId = TestData.team(teamService);
+        TestData.member(teamMemberService, teamId, null, 100.0);
+        TestData.member(teamMemberService, teamId, null, 50.0);
+        String uncachedTag = etag("/api/teams/" + teamId);
+        String cachedTag = etag("/api/teams/" + teamId);
+        assertThat(cachedTag).isEqualTo(uncachedTag);
+
+        transactionTemplate.executeWithoutResult(status -> teamRosterCache.invalidateAfterCommit(teamId));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/teams/{id}", teamId).header(HttpHeaders.IF_NONE_MATCH, cachedTag))
+                .andExpect(status().isNotModified());
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rosterTagChangesWithItsMembers() throws Exception {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        String before = etag("/api/teams/" + teamId);
+
+        teamMemberService.deleteMember(memberId);
+
+        mockMvc.perform(get("/api/teams/{id}", teamId).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/teams/{id}", 999_999L)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void pageTagIgnoresChangesOutsideThePage() throws Exception {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        Long firstLeave = TestData.createLeave(leaveService, memberId, MONDAY, MONDAY);
+        Long secondLeave = TestData.createLeave(leaveService, memberId, MONDAY.plusDays(1), MONDAY.plusDays(1));
+        String firstPage = "/api/leaves/team/" + teamId + "?limit=1";
+        String tag = etag(firstPage);
+
+        leaveService.updateLeave(secondLeave, TestData.leave(memberId, MONDAY.plusDays(2), MONDAY.plusDays(2)));
+        TestData.createLeave(leaveService, memberId, MONDAY.plusDays(7), MONDAY.plusDays(7));
+        mockMvc.perform(get(firstPage).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+
+        leaveService.updateLeave(firstLeave, TestData.leave(memberId, MONDAY.plusDays(3), MONDAY.plusDays(3)));
+        mockMvc.perform(get(firstPage).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(String path) throws Exception {
+        String etag = mockMvc.perform(get(path)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        return etag;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.agiletools.controller;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.service.LeaveService;
+import com.agiletools.service.MemberLocks;
+import com.agiletools.service.TeamMemberService;
+import com.agiletools.service.TeamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:conditional-update;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class ConditionalUpdateTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private MemberLocks memberLocks;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void staleIfMatchIsRejectedWith412() throws Exception {
+        Long memberId = member();
+        Long leaveId = TestData.createLeave(leaveService, memberId, MONDAY, MONDAY);
+        String etag = mockMvc.perform(get("/api/leaves/{id}", leaveId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        mockMvc.perform(put("/api/leaves/{id}", leaveId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(memberId, "first", null)))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/leaves/{id}", leaveId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(memberId, "second", null)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(leaveService.getLeaveById(leaveId).getDescription()).isEqualTo("first");
+    }
+
+    @Test
+    void staleBodyVersionIsRejectedWith409() throws Exception {
+        Long memberId = member();
+        Long leaveId = TestData.createLeave(leaveService, memberId, MONDAY, MONDAY);
+        Long version = leaveService.getLeaveById(leaveId).getVersion();
+
+        mockMvc.perform(put("/api/leaves/{id}", leaveId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(memberId, "first", version)))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/leaves/{id}", leaveId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(memberId, "second", version)))
+                .andExpect(status().isConflict());
+
+        assertThat(leaveService.getLeaveById(leaveId).getDescription()).isEqualTo("first");
+    }
+
+    /**
+     * Holds the member lock so that the blind update reads the leave and then waits, bumps the
+     * version behind its back, and lets it continue: the first attempt fails at flush and the retry
+     * applies the update on top of the concurrent one.
+     */
+    @Test
+    void blindUpdateIsRetriedAfterConcurrentVersionBump() throws Exception {
+        Long memberId = member();
+        Long leaveId = TestData.createLeave(leaveService, memberId, MONDAY, MONDAY);
+        Long version = leaveService.getLeaveById(leaveId).getVersion();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch locked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> lockHolder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                memberLocks.lockUntilCompletion(memberId);
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            AtomicReference<Thread> updateThread = new AtomicReference<>();
+            Future<MvcResult> update = executor.submit(() -> {
+                updateThread.set(Thread.currentThread());
+                return mockMvc.perform(put("/api/leaves/{id}", leaveId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body(memberId, "blind", null)))
+                        .andReturn();
+            });
+            awaitWaitingForMemberLock(updateThread);
+
+            jdbcTemplate.update("UPDATE leaves SET version = version + 1, description = 'concurrent' WHERE id = ?", leaveId);
+            release.countDown();
+            lockHolder.get(10, TimeUnit.SECONDS);
+
+            MvcResult result = update.get(10, TimeUnit.SECONDS);
+            assertThat(result.getResponse().getStatus()).isEqualTo(200);
+            LeaveDto updated = objectMapper.readValue(result.getResponse().getContentAsString(), LeaveDto.class);
+            assertThat(updated.getDescription()).isEqualTo("blind");
+            assertThat(updated.getVersion()).isEqualTo(version + 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void awaitWaitingForMemberLock(AtomicReference<Thread> thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.get() == null || Arrays.stream(thread.get().getStackTrace())
+                .noneMatch(frame -> frame.getClassName().equals(MemberLocks.class.getName()))) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private Long member() {
+        return TestData.member(teamMemberService, TestData.team(teamService), null, 100.0);
+    }
+
+    private String body(Long memberId, String description, Long version) throws Exception {
+        LeaveDto leave = TestData.leave(memberId, MONDAY, MONDAY);
+        leave.setDescription(description);
+        leave.setVersion(version);
+        return objectMapper.writeValueAsString(leave);
+    }
+}
\ No newline at end of file
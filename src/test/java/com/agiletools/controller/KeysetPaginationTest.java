@@ -0,0 +1,79 @@
+package com.agiletools.controller;
+
+import com.agiletools.TestData;
+import com.agiletools.service.LeaveService;
+import com.agiletools.service.TeamMemberService;
+import com.agiletools.service.TeamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:keyset-pagination;DB_CLOSE_DELAY=-1",
+        "app.pagination.default-page-size=2",
+        "app.pagination.max-page-size=3"
+})
+@AutoConfigureMockMvc
+class KeysetPaginationTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Test
+    void pagesFollowTheCursorAndAreCappedAtTheMaximum() throws Exception {
+        Long teamId = TestData.team(teamService);
+        List<Integer> memberIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            memberIds.add(TestData.member(teamMemberService, teamId, null, 100.0).intValue());
+        }
+
+        String cursor = mockMvc.perform(get("/api/team-members/team/" + teamId).param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(memberIds.subList(0, 3).toArray())))
+                .andExpect(header().string(KeysetPage.NEXT_CURSOR_HEADER, String.valueOf(memberIds.get(2))))
+                .andReturn().getResponse().getHeader(KeysetPage.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/api/team-members/team/" + teamId).param("after", cursor).param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(memberIds.subList(3, 5).toArray())))
+                .andExpect(header().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void listsWithoutALimitGetTheDefaultPageSize() throws Exception {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        for (int week = 0; week < 3; week++) {
+            TestData.createLeave(leaveService, memberId, MONDAY.plusWeeks(week), MONDAY.plusWeeks(week));
+        }
+
+        mockMvc.perform(get("/api/leaves/member/" + memberId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().exists(KeysetPage.NEXT_CURSOR_HEADER));
+    }
+}
\ No newline at end of file
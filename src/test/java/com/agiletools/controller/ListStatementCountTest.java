@@ -0,0 +1,87 @@
+package com.agiletools.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The list endpoints must not issue more statements when there are more rows, which is what an
+ * N+1 association load would do.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:list-statement-count;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class ListStatementCountTest {
+
+    private static final String[] ENDPOINTS = {"/api/leaves", "/api/team-members", "/api/teams"};
+    private static final int TEAMS = 2;
+    private static final int MEMBERS_PER_TEAM = 5;
+    private static final int LEAVES_PER_MEMBER = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void statementCountDoesNotGrowWithRows() throws Exception {
+        seed(0, TEAMS);
+        Map<String, Long> small = statementCounts();
+
+        seed(TEAMS, TEAMS * 10);
+        Map<String, Long> large = statementCounts();
+
+        assertThat(small.values()).allMatch(count -> count > 0);
+        assertThat(large).isEqualTo(small);
+    }
+
+    private Map<String, Long> statementCounts() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            statistics.clear();
+            mockMvc.perform(get(endpoint).param("limit", "1000")).andExpect(status().isOk());
+            counts.put(endpoint, statistics.getPrepareStatementCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Adds the teams numbered {@code fromTeam + 1} to {@code toTeam}, each with its members and
+     * their leaves.
+     */
+    private void seed(int fromTeam, int toTeam) {
+        jdbcTemplate.update("INSERT INTO teams (id, version, name, created_at, updated_at) " +
+                "SELECT X, 0, 'Team ' || X, NOW(), NOW() FROM SYSTEM_RANGE(?, ?)", fromTeam + 1, toTeam);
+        jdbcTemplate.update("INSERT INTO team_members " +
+                "(id, version, first_name, last_name, email, capacity_percentage, team_id, created_at, updated_at) " +
+                "SELECT X, 0, 'First' || X, 'Last' || X, 'member' || X || '@example.com', 100.0, " +
+                "(X - 1) / ? + 1, NOW(), NOW() FROM SYSTEM_RANGE(?, ?)",
+                MEMBERS_PER_TEAM, fromTeam * MEMBERS_PER_TEAM + 1, toTeam * MEMBERS_PER_TEAM);
+        jdbcTemplate.update("INSERT INTO leaves " +
+                "(id, version, start_date, end_date, leave_type, team_member_id, created_at, updated_at) " +
+                "SELECT X, 0, DATEADD(DAY, X * 7, DATE '2024-01-01'), DATEADD(DAY, X * 7 + 1, DATE '2024-01-01'), " +
+                "'ANNUAL_LEAVE', (X - 1) / ? + 1, NOW(), NOW() FROM SYSTEM_RANGE(?, ?)",
+                LEAVES_PER_MEMBER, fromTeam * MEMBERS_PER_TEAM * LEAVES_PER_MEMBER + 1,
+                toTeam * MEMBERS_PER_TEAM * LEAVES_PER_MEMBER);
+    }
+}
\ No newline at end of file
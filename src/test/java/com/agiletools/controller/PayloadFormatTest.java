@@ -0,0 +1,116 @@
+package com.agiletools.controller;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.TeamMemberDto;
+import com.agiletools.service.TeamMemberService;
+import com.agiletools.service.TeamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the embedded server, since compression is applied by Tomcat rather than by Spring MVC.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:payload-format;DB_CLOSE_DELAY=-1")
+class PayloadFormatTest {
+
+    private static final int MEMBERS = 30;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void binaryFormatsCarryTheSameMembersAsJson() throws Exception {
+        Long teamId = team();
+
+        List<Long> json = memberIds(objectMapper, fetch(teamId, "application/json", "identity"));
+        List<Long> cbor = memberIds(objectMapper.copyWith(new CBORFactory()), fetch(teamId, "application/cbor", "identity"));
+        List<Long> smile = memberIds(objectMapper.copyWith(new SmileFactory()), fetch(teamId, "application/x-jackson-smile", "identity"));
+
+        assertThat(json).hasSize(MEMBERS);
+        assertThat(cbor).isEqualTo(json);
+        assertThat(smile).isEqualTo(json);
+    }
+
+    @Test
+    void largeResponsesAreGzippedWhenTheClientAcceptsIt() throws Exception {
+        Long teamId = team();
+
+        HttpResponse<byte[]> plain = fetch(teamId, "application/json", "identity");
+        HttpResponse<byte[]> gzipped = fetch(teamId, "application/json", "gzip");
+
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gzipped.body().length).isLessThan(plain.body().length);
+        assertThat(gunzip(gzipped.body())).isEqualTo(plain.body());
+    }
+
+    @Test
+    void conditionalGetTagsAreWeakSoTaggedResponsesCanBeCompressed() throws Exception {
+        Long teamId = team();
+
+        HttpResponse<byte[]> response = fetch(teamId, "application/json", "gzip");
+
+        assertThat(response.headers().firstValue("ETag")).hasValueSatisfying(etag -> assertThat(etag).startsWith("W/\""));
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+    }
+
+    private Long team() {
+        Long teamId = TestData.team(teamService);
+        for (int i = 0; i < MEMBERS; i++) {
+            TestData.member(teamMemberService, teamId, null, 100.0);
+        }
+        return teamId;
+    }
+
+    private HttpResponse<byte[]> fetch(Long teamId, String accept, String acceptEncoding) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/team-members/team/" + teamId))
+                .header("Accept", accept)
+                .header("Accept-Encoding", acceptEncoding)
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith(accept));
+        return response;
+    }
+
+    private static List<Long> memberIds(ObjectMapper mapper, HttpResponse<byte[]> response) throws IOException {
+        TeamMemberDto[] members = mapper.readValue(response.body(), TeamMemberDto[].class);
+        return Arrays.stream(members).map(TeamMemberDto::getId).toList();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
\ No newline at end of file
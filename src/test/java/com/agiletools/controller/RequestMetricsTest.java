@@ -0,0 +1,63 @@
+package com.agiletools.controller;
+
+import com.agiletools.TestData;
+import com.agiletools.service.TeamMemberService;
+import com.agiletools.service.TeamService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:request-metrics;DB_CLOSE_DELAY=-1",
+        "app.metrics.sql-statement-warn-threshold=0"
+})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class RequestMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Test
+    void requestsAreTimedAndTheirStatementsCounted(CapturedOutput output) throws Exception {
+        Long teamId = TestData.team(teamService);
+        TestData.member(teamMemberService, teamId, null, 100.0);
+
+        mockMvc.perform(get("/api/team-members/team/" + teamId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/team-members/team/" + teamId)).andExpect(status().isOk());
+
+        Timer latency = meterRegistry.find("agiletools.requests")
+                .tags("controller", "TeamMemberController", "method", "getMembersByTeam", "status", "200")
+                .timer();
+        DistributionSummary statements = meterRegistry.find("agiletools.requests.sql.statements")
+                .tags("controller", "TeamMemberController", "method", "getMembersByTeam", "status", "200")
+                .summary();
+        assertThat(latency).isNotNull();
+        assertThat(latency.count()).isEqualTo(2);
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(2);
+        assertThat(statements.max()).isPositive();
+        assertThat(output).contains("GET /api/team-members/team/" + teamId + " (TeamMemberController.getMembersByTeam) executed");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.agiletools.controller;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.ChangeDto;
+import com.agiletools.dto.TeamEventBatchDto;
+import com.agiletools.dto.TeamEventDto;
+import com.agiletools.dto.TeamMemberDto;
+import com.agiletools.model.Tombstone;
+import com.agiletools.service.LeaveService;
+import com.agiletools.service.TeamEventBroadcaster;
+import com.agiletools.service.TeamMemberService;
+import com.agiletools.service.TeamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Flushes are triggered by the test rather than on a schedule, so each batch holds exactly the
+ * changes committed since the previous one.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:team-events;DB_CLOSE_DELAY=-1",
+        "app.team-events.flush-interval=1h",
+        "app.team-events.heartbeat-interval=1h"
+})
+@AutoConfigureMockMvc
+class TeamEventsTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeamEventBroadcaster teamEventBroadcaster;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Test
+    void committedChangesArriveAsOneCollapsedBatch() throws Exception {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        MvcResult subscription = subscribe(teamId);
+
+        TeamMemberDto member = teamMemberService.getMemberById(memberId);
+        member.setFirstName("Renamed");
+        teamMemberService.updateMember(memberId, member);
+        Long leaveId = TestData.createLeave(leaveService, memberId, MONDAY, MONDAY);
+        member = teamMemberService.getMemberById(memberId);
+        member.setFirstName("Renamed again");
+        teamMemberService.updateMember(memberId, member);
+        teamEventBroadcaster.flush();
+
+        List<TeamEventBatchDto> batches = awaitBatches(subscription, 1);
+        assertThat(batches.get(0).getTeamId()).isEqualTo(teamId);
+        assertThat(batches.get(0).getEvents())
+                .extracting(TeamEventDto::getType, TeamEventDto::getOperation, TeamEventDto::getEntityId)
+                .containsExactly(
+                        tuple(Tombstone.EntityType.LEAVE, ChangeDto.Operation.UPSERT, leaveId),
+                        tuple(Tombstone.EntityType.TEAM_MEMBER, ChangeDto.Operation.UPSERT, memberId));
+    }
+
+    @Test
+    void streamsEndWhenTheTeamIsDeleted() throws Exception {
+        Long teamId = TestData.team(teamService);
+        MvcResult subscription = subscribe(teamId);
+
+        teamService.deleteTeam(teamId);
+        teamEventBroadcaster.flush();
+
+        subscription.getAsyncResult(10_000);
+        assertThat(awaitBatches(subscription, 1).get(0).getEvents())
+                .extracting(TeamEventDto::getType, TeamEventDto::getOperation)
+                .containsExactly(tuple(Tombstone.EntityType.TEAM, ChangeDto.Operation.DELETE));
+    }
+
+    @Test
+    void unknownTeamsCannotBeSubscribedTo() throws Exception {
+        mockMvc.perform(get("/api/teams/-1/events")).andExpect(status().isNotFound());
+    }
+
+    private MvcResult subscribe(Long teamId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/teams/" + teamId + "/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // The first heartbeat is sent once the subscriber is registered.
+        await(result, content -> content.contains(":heartbeat"));
+        return result;
+    }
+
+    private List<TeamEventBatchDto> awaitBatches(MvcResult result, int count) throws Exception {
+        // Events end with a blank line, so a complete one has been written once the body ends with it.
+        String content = await(result, body -> body.split("event:changes").length > count && body.endsWith("\n\n"));
+        List<TeamEventBatchDto> batches = new ArrayList<>();
+        for (String line : content.lines().toList()) {
+            if (line.startsWith("data:")) {
+                batches.add(objectMapper.readValue(line.substring("data:".length()), TeamEventBatchDto.class));
+            }
+        }
+        assertThat(batches).hasSize(count);
+        return batches;
+    }
+
+    private static String await(MvcResult result, Predicate<String> condition) throws Exception {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        String content = result.getResponse().getContentAsString();
+        while (!condition.test(content)) {
+            assertThat(System.nanoTime()).as("waiting for events in %s", content).isLessThan(deadline);
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
\ No newline at end of file
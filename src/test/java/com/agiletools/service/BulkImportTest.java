@@ -0,0 +1,108 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.BulkResultDto;
+import com.agiletools.dto.BulkRowResultDto;
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.dto.TeamMemberDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bulk-import;DB_CLOSE_DELAY=-1")
+class BulkImportTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 2);
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private CapacityAggregateService capacityAggregateService;
+
+    @Test
+    void leaveRowsAreAcceptedOrRejectedOneByOne() {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        Long existing = TestData.createLeave(leaveService, memberId, MONDAY, MONDAY);
+
+        BulkResultDto result = leaveService.createLeaves(List.of(
+                TestData.leave(memberId, MONDAY.plusDays(1), MONDAY.plusDays(2)),
+                TestData.leave(memberId, MONDAY, MONDAY.plusDays(1)),
+                TestData.leave(memberId, MONDAY.plusDays(2), MONDAY.plusDays(3)),
+                TestData.leave(-1L, MONDAY, MONDAY),
+                TestData.leave(memberId, MONDAY.plusDays(9), MONDAY.plusDays(8)),
+                TestData.leave(memberId, MONDAY.plusDays(7), MONDAY.plusDays(7))));
+
+        assertThat(result.getAccepted()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(4);
+        assertThat(result.getRows())
+                .extracting(BulkRowResultDto::getIndex, BulkRowResultDto::getStatus, BulkRowResultDto::getError)
+                .containsExactly(
+                        tuple(0, BulkRowResultDto.Status.ACCEPTED, null),
+                        tuple(1, BulkRowResultDto.Status.REJECTED,
+                                "Leave overlaps with existing leave " + existing + " for this team member"),
+                        tuple(2, BulkRowResultDto.Status.REJECTED, "Leave overlaps with row 0 of this request"),
+                        tuple(3, BulkRowResultDto.Status.REJECTED, "Team member not found with id: -1"),
+                        tuple(4, BulkRowResultDto.Status.REJECTED, "Start date cannot be after end date"),
+                        tuple(5, BulkRowResultDto.Status.ACCEPTED, null));
+        assertThat(leaveService.getLeavesByMember(memberId, 0L, 100))
+                .extracting(LeaveDto::getId)
+                .containsExactly(existing, result.getRows().get(0).getId(), result.getRows().get(5).getId());
+        assertThat(capacityAggregateService.rebuild().getMismatches()).isZero();
+    }
+
+    @Test
+    void memberRowsAreAcceptedOrRejectedOneByOne() {
+        Long teamId = TestData.team(teamService);
+        Long existing = TestData.member(teamMemberService, teamId, null, 100.0);
+        String takenEmail = teamMemberService.getMemberById(existing).getEmail();
+
+        BulkResultDto result = teamMemberService.createMembers(List.of(
+                member("bulk-new@example.com", teamId),
+                member(takenEmail, teamId),
+                member("bulk-new@example.com", null),
+                member("bulk-other@example.com", -1L),
+                member("not an email", teamId)));
+
+        assertThat(result.getRows())
+                .extracting(BulkRowResultDto::getStatus, BulkRowResultDto::getError)
+                .containsExactly(
+                        tuple(BulkRowResultDto.Status.ACCEPTED, null),
+                        tuple(BulkRowResultDto.Status.REJECTED, "Team member with email '" + takenEmail + "' already exists"),
+                        tuple(BulkRowResultDto.Status.REJECTED, "Team member with email 'bulk-new@example.com' already exists"),
+                        tuple(BulkRowResultDto.Status.REJECTED, "Team not found with id: -1"),
+                        tuple(BulkRowResultDto.Status.REJECTED, "Email must be valid if provided"));
+        TeamMemberDto created = teamMemberService.getMemberById(result.getRows().get(0).getId());
+        assertThat(created.getTeamId()).isEqualTo(teamId);
+        assertThat(teamService.getTeamById(teamId).getMembers()).hasSize(2);
+    }
+
+    @Test
+    void oversizedRequestsAreRejectedAsAWhole() {
+        List<LeaveDto> leaves = Collections.nCopies(LeaveService.MAX_BULK_ROWS + 1, TestData.leave(-1L, MONDAY, MONDAY));
+
+        assertThatThrownBy(() -> leaveService.createLeaves(leaves))
+                .hasMessage("Bulk requests cannot exceed " + LeaveService.MAX_BULK_ROWS + " rows");
+    }
+
+    private static TeamMemberDto member(String email, Long teamId) {
+        TeamMemberDto member = new TeamMemberDto("Bulk", "Member", email, null);
+        member.setTeamId(teamId);
+        return member;
+    }
+}
\ No newline at end of file
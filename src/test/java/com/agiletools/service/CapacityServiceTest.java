@@ -0,0 +1,76 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.CapacityDto;
+import com.agiletools.dto.MemberCapacityDto;
+import com.agiletools.dto.PublicHolidayDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:capacity;DB_CLOSE_DELAY=-1")
+class CapacityServiceTest {
+
+    // Monday 2024-09-02 to Sunday 2024-09-08
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 2);
+    private static final LocalDate SUNDAY = MONDAY.plusDays(6);
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    @Autowired
+    private CapacityService capacityService;
+
+    @Test
+    void weekendsHolidaysAndLeavesAreNotAvailable() {
+        Long teamId = TestData.team(teamService);
+        Long local = TestData.member(teamMemberService, teamId, "CAPACITY", 100.0);
+        Long partTime = TestData.member(teamMemberService, teamId, null, 50.0);
+        PublicHolidayDto holiday = new PublicHolidayDto();
+        holiday.setJurisdiction("CAPACITY");
+        holiday.setDate(MONDAY.plusDays(3));
+        holidayCalendarService.createHoliday(holiday);
+        TestData.createLeave(leaveService, partTime, MONDAY.plusDays(1), MONDAY.plusDays(2));
+        // Only the Monday of this leave falls in the range.
+        TestData.createLeave(leaveService, local, MONDAY.minusDays(3), MONDAY);
+
+        CapacityDto capacity = capacityService.getTeamCapacity(teamId, MONDAY, SUNDAY);
+
+        assertThat(capacity.getWorkingDays()).isEqualTo(5);
+        assertThat(capacity.getDailyPersonDays()).containsExactly(0.5, 1.0, 1.0, 0.5, 1.5, 0.0, 0.0);
+        assertThat(capacity.getTotalPersonDays()).isEqualTo(4.5);
+        assertThat(capacity.getMembers())
+                .extracting(MemberCapacityDto::getTeamMemberId, MemberCapacityDto::getAvailableDays,
+                        MemberCapacityDto::getPersonDays)
+                .containsExactlyInAnyOrder(
+                        tuple(local, 3, 3.0),
+                        tuple(partTime, 3, 1.5));
+    }
+
+    @Test
+    void rangesAreValidated() {
+        Long teamId = TestData.team(teamService);
+
+        assertThatThrownBy(() -> capacityService.getTeamCapacity(teamId, SUNDAY, MONDAY))
+                .hasMessage("Start date cannot be after end date");
+        assertThatThrownBy(() -> capacityService.getTeamCapacity(teamId, MONDAY, MONDAY.plusDays(366)))
+                .hasMessage("Capacity range cannot exceed 366 days");
+        assertThat(capacityService.getTeamCapacity(teamId, MONDAY, MONDAY.plusDays(365)).getDailyPersonDays())
+                .hasSize(366);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.ChangeDto;
+import com.agiletools.dto.ChangeFeedDto;
+import com.agiletools.model.Tombstone;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:change-feed;DB_CLOSE_DELAY=-1",
+        "app.change-feed.safety-lag=0s"
+})
+class ChangeFeedServiceTest {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void changesAfterAnOpenWriteWaitUntilItCommits() throws Exception {
+        String cursor = changeFeedService.getChanges(null, 1000).getNextCursor();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        AtomicReference<Long> slowTeamId = new AtomicReference<>();
+        CompletableFuture<Void> slowWrite = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            slowTeamId.set(TestData.team(teamService));
+            written.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Long fastTeamId = TestData.team(teamService);
+        ChangeFeedDto whileOpen = changeFeedService.getChanges(cursor, 1000);
+        assertThat(teamIds(whileOpen)).doesNotContain(fastTeamId);
+
+        commit.countDown();
+        slowWrite.get(10, TimeUnit.SECONDS);
+        ChangeFeedDto afterCommit = changeFeedService.getChanges(whileOpen.getNextCursor(), 1000);
+        assertThat(teamIds(afterCommit)).containsExactly(slowTeamId.get(), fastTeamId);
+    }
+
+    @Test
+    void pagesResumeAfterTheirCursorAndReportDeletions() {
+        String cursor = changeFeedService.getChanges(null, 1000).getNextCursor();
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        Long keptLeave = TestData.createLeave(leaveService, memberId, LocalDate.of(2024, 9, 2), LocalDate.of(2024, 9, 2));
+        Long deletedLeave = TestData.createLeave(leaveService, memberId, LocalDate.of(2024, 9, 9), LocalDate.of(2024, 9, 9));
+        leaveService.deleteLeave(deletedLeave);
+
+        List<ChangeDto> changes = new ArrayList<>();
+        ChangeFeedDto page;
+        do {
+            page = changeFeedService.getChanges(cursor, 1);
+            assertThat(page.getChanges()).hasSizeLessThanOrEqualTo(1);
+            changes.addAll(page.getChanges());
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertThat(changes)
+                .extracting(ChangeDto::getType, ChangeDto::getOperation, ChangeDto::getEntityId)
+                .containsExactlyInAnyOrder(
+                        tuple(Tombstone.EntityType.TEAM, ChangeDto.Operation.UPSERT, teamId),
+                        tuple(Tombstone.EntityType.TEAM_MEMBER, ChangeDto.Operation.UPSERT, memberId),
+                        tuple(Tombstone.EntityType.LEAVE, ChangeDto.Operation.UPSERT, keptLeave),
+                        tuple(Tombstone.EntityType.LEAVE, ChangeDto.Operation.DELETE, deletedLeave));
+        assertThat(changes).extracting(ChangeDto::getChangedAt).isSorted();
+        assertThat(changeFeedService.getChanges(cursor, 1000).getChanges()).isEmpty();
+    }
+
+    private static List<Long> teamIds(ChangeFeedDto feed) {
+        return feed.getChanges().stream()
+                .filter(change -> change.getType() == Tombstone.EntityType.TEAM
+                        && change.getOperation() == ChangeDto.Operation.UPSERT)
+                .map(ChangeDto::getEntityId)
+                .toList();
+    }
+}
\ No newline at end of file
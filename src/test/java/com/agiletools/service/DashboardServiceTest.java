@@ -0,0 +1,77 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.DashboardDto;
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.dto.TeamDashboardDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dashboard;DB_CLOSE_DELAY=-1",
+        "app.dashboard.max-teams=3",
+        "app.dashboard.max-concurrent-queries=2"
+})
+class DashboardServiceTest {
+
+    // Monday 2024-09-02 to Friday 2024-09-06
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 2);
+    private static final LocalDate FRIDAY = MONDAY.plusDays(4);
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Test
+    void teamsAreReturnedInRequestOrderWithAllTheirParts() {
+        Long firstTeam = TestData.team(teamService);
+        Long secondTeam = TestData.team(teamService);
+        Long member = TestData.member(teamMemberService, firstTeam, null, 100.0);
+        TestData.member(teamMemberService, secondTeam, null, 100.0);
+        TestData.member(teamMemberService, secondTeam, null, 50.0);
+        Long leave = TestData.createLeave(leaveService, member, MONDAY, MONDAY.plusDays(1));
+
+        DashboardDto dashboard = dashboardService.getDashboard(List.of(secondTeam, firstTeam), MONDAY, FRIDAY);
+
+        List<TeamDashboardDto> teams = dashboard.getTeams();
+        assertThat(teams).extracting(team -> team.getTeam().getId()).containsExactly(secondTeam, firstTeam);
+        assertThat(teams.get(0).getTeam().getMembers()).hasSize(2);
+        assertThat(teams.get(0).getLeaves()).isEmpty();
+        assertThat(teams.get(0).getCapacity().getTotalPersonDays()).isEqualTo(7.5);
+        assertThat(teams.get(1).getLeaves()).extracting(LeaveDto::getId).containsExactly(leave);
+        assertThat(teams.get(1).getCapacity().getTotalPersonDays()).isEqualTo(3.0);
+    }
+
+    @Test
+    void aMissingTeamFailsTheWholeDashboard() {
+        Long teamId = TestData.team(teamService);
+
+        assertThatThrownBy(() -> dashboardService.getDashboard(List.of(teamId, -1L), MONDAY, FRIDAY))
+                .hasMessage("Team not found with id: -1");
+    }
+
+    @Test
+    void requestsAreBounded() {
+        assertThatThrownBy(() -> dashboardService.getDashboard(List.of(), MONDAY, FRIDAY))
+                .hasMessage("At least one team id is required");
+        assertThatThrownBy(() -> dashboardService.getDashboard(List.of(1L, 2L, 3L, 4L), MONDAY, FRIDAY))
+                .hasMessage("Dashboard cannot include more than 3 teams");
+        assertThatThrownBy(() -> dashboardService.getDashboard(List.of(1L), FRIDAY, MONDAY))
+                .hasMessage("Start date cannot be after end date");
+    }
+}
\ No newline at end of file
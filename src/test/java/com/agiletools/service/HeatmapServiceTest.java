@@ -0,0 +1,92 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.HeatmapDto;
+import com.agiletools.dto.PublicHolidayDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:heatmap;DB_CLOSE_DELAY=-1")
+class HeatmapServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 4, 1);
+    private static final LocalDate END = LocalDate.of(2024, 6, 30);
+    private static final int TEAMS = 12;
+    private static final String[] JURISDICTIONS = {"NL", "DE", null};
+    private static final Double[] CAPACITY_PERCENTAGES = {100.0, 50.0, 80.0, null};
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    @Autowired
+    private CapacityService capacityService;
+
+    @Autowired
+    private HeatmapService heatmapService;
+
+    @Test
+    void rowsMatchTeamCapacity() {
+        holiday("NL", LocalDate.of(2024, 5, 9));
+        holiday("NL", LocalDate.of(2024, 5, 20));
+        holiday("DE", LocalDate.of(2024, 5, 20));
+
+        // Teams get from zero to four members, each with up to three leaves.
+        Random random = new Random(42);
+        List<Long> teamIds = new ArrayList<>();
+        for (int t = 0; t < TEAMS; t++) {
+            Long teamId = TestData.team(teamService);
+            teamIds.add(teamId);
+            for (int m = random.nextInt(5); m > 0; m--) {
+                Long memberId = TestData.member(teamMemberService, teamId,
+                        JURISDICTIONS[random.nextInt(JURISDICTIONS.length)],
+                        CAPACITY_PERCENTAGES[random.nextInt(CAPACITY_PERCENTAGES.length)]);
+                LocalDate leaveStart = START.minusDays(5);
+                for (int l = random.nextInt(4); l > 0; l--) {
+                    leaveStart = leaveStart.plusDays(random.nextInt(30));
+                    LocalDate leaveEnd = leaveStart.plusDays(random.nextInt(10));
+                    TestData.createLeave(leaveService, memberId, leaveStart, leaveEnd);
+                    leaveStart = leaveEnd.plusDays(1);
+                }
+            }
+        }
+
+        HeatmapDto heatmap = heatmapService.getHeatmap(START, END);
+
+        assertThat(heatmap.getTeamIds()).containsExactly(teamIds.stream().mapToLong(Long::longValue).toArray());
+        for (int i = 0; i < teamIds.size(); i++) {
+            double[] expected = capacityService.getTeamCapacity(teamIds.get(i), START, END).getDailyPersonDays();
+            assertThat(heatmap.getPersonDays()[i]).as("team %d", teamIds.get(i)).hasSize(expected.length);
+            for (int day = 0; day < expected.length; day++) {
+                assertThat(heatmap.getPersonDays()[i][day])
+                        .as("team %d on %s", teamIds.get(i), START.plusDays(day))
+                        .isCloseTo(expected[day], within(1e-9));
+            }
+        }
+    }
+
+    private void holiday(String jurisdiction, LocalDate date) {
+        PublicHolidayDto holiday = new PublicHolidayDto();
+        holiday.setJurisdiction(jurisdiction);
+        holiday.setDate(date);
+        holiday.setName("Holiday");
+        holidayCalendarService.createHoliday(holiday);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.HolidayMigrationDto;
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.dto.PublicHolidayDto;
+import com.agiletools.model.Leave;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:holiday-migration;DB_CLOSE_DELAY=-1")
+class HolidayMigrationTest {
+
+    // Friday 2024-05-10 to Tuesday 2024-05-14
+    private static final LocalDate FRIDAY = LocalDate.of(2024, 5, 10);
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    @Autowired
+    private CapacityAggregateService capacityAggregateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void publicHolidayLeavesAreRejected() {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, "NL", 100.0);
+        LeaveDto leave = TestData.leave(memberId, FRIDAY, FRIDAY);
+        leave.setLeaveType(Leave.LeaveType.PUBLIC_HOLIDAY);
+
+        assertThatThrownBy(() -> leaveService.createLeave(leave))
+                .hasMessage(LeaveService.PUBLIC_HOLIDAY_LEAVE_MESSAGE);
+    }
+
+    @Test
+    void publicHolidayLeavesMoveIntoTheCalendar() {
+        Long teamId = TestData.team(teamService);
+        Long dutchMember = TestData.member(teamMemberService, teamId, "NL", 100.0);
+        Long otherMember = TestData.member(teamMemberService, teamId, null, 100.0);
+        insertPublicHolidayLeave(1_000_001L, dutchMember, FRIDAY.plusDays(3));
+        insertPublicHolidayLeave(1_000_002L, otherMember, FRIDAY.plusDays(3));
+        Long colleague = TestData.member(teamMemberService, teamId, "NL", 100.0);
+        Long annualLeave = TestData.createLeave(leaveService, colleague, FRIDAY, FRIDAY.plusDays(4));
+
+        HolidayMigrationDto result = leaveService.migratePublicHolidayLeaves();
+
+        assertThat(result.getLeavesMigrated()).isEqualTo(1);
+        assertThat(result.getLeavesRetyped()).isEqualTo(1);
+        assertThat(result.getHolidaysCreated()).isEqualTo(1);
+        assertThat(holidayCalendarService.getHolidays("NL", 2024))
+                .extracting(PublicHolidayDto::getDate).containsExactly(FRIDAY.plusDays(3));
+        assertThat(leaveService.getLeavesByMember(dutchMember, 0L, 100)).isEmpty();
+        assertThat(leaveService.getLeaveById(1_000_002L).getLeaveType()).isEqualTo(Leave.LeaveType.OTHER);
+
+        // Friday, Monday (now a holiday) and Tuesday: two working days.
+        assertThat(leaveService.getLeaveById(annualLeave).getWorkingDays()).isEqualTo(2);
+        assertThat(capacityAggregateService.rebuild().getMismatches()).isZero();
+    }
+
+    @Test
+    void membersWithoutJurisdictionShareOneEmptyCalendar() {
+        assertThat(holidayCalendarService.getCalendar(null, 2024))
+                .isSameAs(holidayCalendarService.getCalendar(null, 2024));
+    }
+
+    private void insertPublicHolidayLeave(Long id, Long teamMemberId, LocalDate date) {
+        jdbcTemplate.update("INSERT INTO leaves (id, version, start_date, end_date, leave_type, description, " +
+                "team_member_id, created_at, updated_at) VALUES (?, 0, ?, ?, 'PUBLIC_HOLIDAY', 'Holiday', ?, NOW(), NOW())",
+                id, date, date, teamMemberId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:leave-booking-concurrency;DB_CLOSE_DELAY=-1")
+class LeaveBookingConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void onlyOneOfManyConcurrentOverlappingBookingsSucceeds() throws Exception {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> bookings = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                // Every booking overlaps every other on Wednesday at least.
+                LocalDate startDate = MONDAY.plusDays(i % 3);
+                LocalDate endDate = startDate.plusDays(2);
+                bookings.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        TestData.createLeave(leaveService, memberId, startDate, endDate);
+                        return true;
+                    } catch (LeaveOverlapException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> booking : bookings) {
+                succeeded += booking.get() ? 1 : 0;
+            }
+            assertThat(succeeded).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM leaves WHERE team_member_id = ?",
+                Integer.class, memberId)).isEqualTo(1);
+    }
+
+    @Test
+    void leavesMissingFromTheIndexStillConflict() {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        assertThat(leaveIntervalIndex.findOverlapping(memberId, MONDAY, MONDAY)).isEmpty();
+
+        // Written past this instance, as another instance sharing the database would.
+        jdbcTemplate.update("INSERT INTO leaves (id, version, start_date, end_date, leave_type, description, " +
+                "team_member_id, created_at, updated_at) VALUES (?, 0, ?, ?, 'ANNUAL_LEAVE', null, ?, NOW(), NOW())",
+                2_000_001L, MONDAY, MONDAY.plusDays(1), memberId);
+
+        assertThatThrownBy(() -> TestData.createLeave(leaveService, memberId, MONDAY.plusDays(1), MONDAY.plusDays(3)))
+                .isInstanceOf(LeaveOverlapException.class)
+                .extracting(e -> ((LeaveOverlapException) e).getConflictingLeaveIds())
+                .isEqualTo(List.of(2_000_001L));
+    }
+
+    @Test
+    void leavesDeletedPastTheIndexNoLongerConflict() {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        Long leaveId = TestData.createLeave(leaveService, memberId, MONDAY, MONDAY.plusDays(1));
+        assertThat(leaveIntervalIndex.findOverlapping(memberId, MONDAY, MONDAY)).containsExactly(leaveId);
+
+        // Deleted through another instance, so this instance's index still holds the interval.
+        jdbcTemplate.update("DELETE FROM leaves WHERE id = ?", leaveId);
+
+        Long rebooked = TestData.createLeave(leaveService, memberId, MONDAY, MONDAY.plusDays(1));
+
+        assertThat(leaveIntervalIndex.findOverlapping(memberId, MONDAY, MONDAY)).containsExactly(rebooked);
+    }
+
+    @Test
+    void rolledBackLeavesAreNeverIndexed() {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO leaves (id, version, start_date, end_date, leave_type, description, " +
+                    "team_member_id, created_at, updated_at) VALUES (?, 0, ?, ?, 'ANNUAL_LEAVE', null, ?, NOW(), NOW())",
+                    2_000_002L, MONDAY, MONDAY, memberId);
+            leaveIntervalIndex.findOverlapping(memberId, MONDAY, MONDAY);
+            status.setRollbackOnly();
+        });
+
+        assertThat(leaveIntervalIndex.findOverlapping(memberId, MONDAY, MONDAY)).isEmpty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.LeaveDto;
+import com.agiletools.repository.LeaveRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:leave-export;DB_CLOSE_DELAY=-1")
+class LeaveExportTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 2);
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportWritesOneLinePerLeaveAcrossFetches() throws Exception {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        int leaves = LeaveRepository.EXPORT_FETCH_SIZE * 2 + 1;
+        jdbcTemplate.update("INSERT INTO leaves " +
+                "(id, version, start_date, end_date, leave_type, team_member_id, created_at, updated_at) " +
+                "SELECT 1000000 + X, 0, DATEADD(DAY, X * 2, DATE '2000-01-01'), DATEADD(DAY, X * 2, DATE '2000-01-01'), " +
+                "'ANNUAL_LEAVE', ?, NOW(), NOW() FROM SYSTEM_RANGE(1, ?)", memberId, leaves);
+
+        List<LeaveDto> exported = export(teamId, null, null, null);
+
+        assertThat(exported).hasSize(leaves);
+        assertThat(exported).extracting(LeaveDto::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(exported).allMatch(leave -> memberId.equals(leave.getTeamMemberId()));
+    }
+
+    @Test
+    void exportAppliesTheFilters() throws Exception {
+        Long teamId = TestData.team(teamService);
+        Long otherTeamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        Long colleagueId = TestData.member(teamMemberService, teamId, null, 100.0);
+        Long outsiderId = TestData.member(teamMemberService, otherTeamId, null, 100.0);
+        Long inRange = TestData.createLeave(leaveService, memberId, MONDAY, MONDAY.plusDays(1));
+        Long colleagues = TestData.createLeave(leaveService, colleagueId, MONDAY.plusDays(4), MONDAY.plusDays(8));
+        TestData.createLeave(leaveService, memberId, MONDAY.plusWeeks(2), MONDAY.plusWeeks(2));
+        TestData.createLeave(leaveService, outsiderId, MONDAY, MONDAY);
+
+        assertThat(export(teamId, null, MONDAY, MONDAY.plusDays(6)))
+                .extracting(LeaveDto::getId).containsExactly(inRange, colleagues);
+        assertThat(export(teamId, colleagueId, null, null))
+                .extracting(LeaveDto::getId).containsExactly(colleagues);
+        assertThat(export(otherTeamId, memberId, null, null)).isEmpty();
+    }
+
+    private List<LeaveDto> export(Long teamId, Long teamMemberId, LocalDate startDate, LocalDate endDate) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = leaveService.exportLeaves(teamId, teamMemberId, startDate, endDate, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        List<LeaveDto> leaves = new ArrayList<>();
+        for (String line : body.lines().toList()) {
+            leaves.add(objectMapper.readValue(line, LeaveDto.class));
+        }
+        assertThat(leaves).hasSize((int) count);
+        assertThat(body).isEqualTo(count == 0 ? "" : body.stripTrailing() + "\n");
+        return leaves;
+    }
+}
\ No newline at end of file
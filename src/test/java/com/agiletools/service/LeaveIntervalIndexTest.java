@@ -0,0 +1,87 @@
+package com.agiletools.service;
+
+import com.agiletools.repository.LeaveInterval;
+import com.agiletools.service.LeaveIntervalIndex.MemberIntervals;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaveIntervalIndexTest {
+
+    @Test
+    void overlappingMatchesLinearScan() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<LeaveInterval> intervals = new ArrayList<>();
+            int count = random.nextInt(40);
+            for (int i = 0; i < count; i++) {
+                int start = random.nextInt(365);
+                // Every fifth leave is long, so later prefix maxima reach far past the queried ranges.
+                int length = i % 5 == 0 ? random.nextInt(300) : random.nextInt(5);
+                intervals.add(interval(i + 1, start, start + length));
+            }
+            MemberIntervals index = MemberIntervals.of(intervals);
+
+            for (int query = 0; query < 50; query++) {
+                int start = random.nextInt(400) - 20;
+                int end = start + random.nextInt(10);
+                Long excluded = random.nextBoolean() ? (long) (random.nextInt(count + 1) + 1) : null;
+
+                assertThat(index.overlapping(start, end, excluded))
+                        .containsExactlyInAnyOrderElementsOf(linearScan(intervals, start, end, excluded));
+                assertThat(index.covers(start)).isEqualTo(!linearScan(intervals, start, start, null).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void withAndWithoutKeepTheIndexConsistent() {
+        MemberIntervals index = MemberIntervals.of(List.of(interval(1, 0, 200), interval(2, 10, 12)));
+
+        index = index.with(3, 50, 52).with(2, 100, 101).without(1);
+
+        assertThat(index.overlapping(0, 60, null)).containsExactly(3L);
+        assertThat(index.overlapping(100, 100, null)).containsExactly(2L);
+        assertThat(index.covers(150)).isFalse();
+    }
+
+    private static List<Long> linearScan(List<LeaveInterval> intervals, int start, int end, Long excluded) {
+        List<Long> result = new ArrayList<>();
+        for (LeaveInterval interval : intervals) {
+            if (interval.getStartDate().toEpochDay() <= end && interval.getEndDate().toEpochDay() >= start
+                    && !interval.getId().equals(excluded)) {
+                result.add(interval.getId());
+            }
+        }
+        return result;
+    }
+
+    private static LeaveInterval interval(long id, int start, int end) {
+        return new LeaveInterval() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getTeamMemberId() {
+                return 1L;
+            }
+
+            @Override
+            public LocalDate getStartDate() {
+                return LocalDate.ofEpochDay(start);
+            }
+
+            @Override
+            public LocalDate getEndDate() {
+                return LocalDate.ofEpochDay(end);
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * After every kind of write, committed or rolled back, the index must give the same answer as
+ * querying the leaves table.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:out-of-office-index;DB_CLOSE_DELAY=-1")
+class OutOfOfficeIndexTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 4, 1);
+    private static final int DAYS = 21;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private OutOfOfficeIndex outOfOfficeIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void indexMatchesDatabaseAfterEveryWrite() {
+        Long teamId = TestData.team(teamService);
+        Long first = TestData.member(teamMemberService, teamId, null, 100.0);
+        Long second = TestData.member(teamMemberService, teamId, null, 100.0);
+        Long third = TestData.member(teamMemberService, teamId, null, 100.0);
+        assertMatchesDatabase();
+
+        Long firstLeave = TestData.createLeave(leaveService, first, MONDAY, MONDAY.plusDays(2));
+        Long secondLeave = TestData.createLeave(leaveService, second, MONDAY.plusDays(2), MONDAY.plusDays(4));
+        Long thirdLeave = TestData.createLeave(leaveService, third, MONDAY.plusDays(7), MONDAY.plusDays(7));
+        TestData.createLeave(leaveService, third, MONDAY.plusDays(9), MONDAY.plusDays(11));
+        assertMatchesDatabase();
+
+        leaveService.updateLeave(firstLeave, TestData.leave(first, MONDAY.plusDays(8), MONDAY.plusDays(10)));
+        assertMatchesDatabase();
+
+        leaveService.deleteLeave(secondLeave);
+        assertMatchesDatabase();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            TestData.createLeave(leaveService, second, MONDAY.plusDays(14), MONDAY.plusDays(16));
+            leaveService.updateLeave(thirdLeave, TestData.leave(third, MONDAY.plusDays(1), MONDAY.plusDays(3)));
+            leaveService.deleteLeave(firstLeave);
+            status.setRollbackOnly();
+        });
+        assertMatchesDatabase();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            teamMemberService.deleteMember(third);
+            status.setRollbackOnly();
+        });
+        assertMatchesDatabase();
+
+        teamMemberService.deleteMember(third);
+        assertMatchesDatabase();
+    }
+
+    /**
+     * Compares every single day and every week-long range of the test period.
+     */
+    private void assertMatchesDatabase() {
+        for (int day = 0; day < DAYS; day++) {
+            for (int length : new int[]{1, 7}) {
+                LocalDate startDate = MONDAY.plusDays(day);
+                LocalDate endDate = startDate.plusDays(length - 1);
+                assertThat(outOfOfficeIndex.findOutOfOffice(startDate, endDate))
+                        .as("%s to %s", startDate, endDate)
+                        .isEqualTo(jdbcTemplate.queryForList("SELECT DISTINCT team_member_id FROM leaves " +
+                                "WHERE start_date <= ? AND end_date >= ? ORDER BY team_member_id", Long.class, endDate, startDate));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:set-based-delete;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SetBasedDeleteTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 2);
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private CapacityAggregateService capacityAggregateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void deletingATeamTombstonesEveryRowItTakesWithIt() {
+        Long teamId = TestData.team(teamService);
+        List<Long> memberIds = new ArrayList<>();
+        List<Long> leaveIds = new ArrayList<>();
+        seed(teamId, 2, memberIds, leaveIds);
+        Long otherTeamId = TestData.team(teamService);
+        List<Long> otherLeaveIds = new ArrayList<>();
+        seed(otherTeamId, 1, new ArrayList<>(), otherLeaveIds);
+
+        teamService.deleteTeam(teamId);
+
+        assertThat(count("SELECT COUNT(*) FROM teams WHERE id = ?", teamId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM team_members WHERE team_id = ?", teamId)).isZero();
+        assertThat(tombstoned("TEAM")).contains(teamId);
+        assertThat(tombstoned("TEAM_MEMBER")).containsAll(memberIds);
+        assertThat(tombstoned("LEAVE")).containsAll(leaveIds).doesNotContainAnyElementsOf(otherLeaveIds);
+        assertThat(leaveService.getLeavesByTeam(otherTeamId, 0L, 100)).hasSameSizeAs(otherLeaveIds);
+        assertThat(count("SELECT COUNT(*) FROM tombstones")).isEqualTo(count("SELECT COUNT(DISTINCT id) FROM tombstones"));
+        assertThat(capacityAggregateService.rebuild().getMismatches()).isZero();
+    }
+
+    @Test
+    void deletingAMemberLeavesTheirColleaguesAlone() {
+        Long teamId = TestData.team(teamService);
+        List<Long> memberIds = new ArrayList<>();
+        List<Long> leaveIds = new ArrayList<>();
+        seed(teamId, 2, memberIds, leaveIds);
+
+        teamMemberService.deleteMember(memberIds.get(0));
+
+        assertThat(tombstoned("TEAM_MEMBER")).contains(memberIds.get(0)).doesNotContain(memberIds.get(1));
+        assertThat(tombstoned("LEAVE")).containsAll(leaveIds.subList(0, 2)).doesNotContainAnyElementsOf(leaveIds.subList(2, 4));
+        assertThat(leaveService.getLeavesByMember(memberIds.get(1), 0L, 100)).hasSize(2);
+        assertThat(teamService.getTeamById(teamId).getMembers()).hasSize(1);
+        assertThat(capacityAggregateService.rebuild().getMismatches()).isZero();
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithTheTeam() {
+        // The pooled id optimizer reads the sequence for the first two tombstones saved through JPA.
+        statementsToDelete(TestData.team(teamService));
+        statementsToDelete(TestData.team(teamService));
+        Long smallTeam = TestData.team(teamService);
+        seed(smallTeam, 1, new ArrayList<>(), new ArrayList<>());
+        Long largeTeam = TestData.team(teamService);
+        seed(largeTeam, 10, new ArrayList<>(), new ArrayList<>());
+
+        assertThat(statementsToDelete(largeTeam)).isEqualTo(statementsToDelete(smallTeam));
+    }
+
+    /**
+     * Adds {@code members} members to the team, each with two leaves.
+     */
+    private void seed(Long teamId, int members, List<Long> memberIds, List<Long> leaveIds) {
+        for (int i = 0; i < members; i++) {
+            Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+            memberIds.add(memberId);
+            leaveIds.add(TestData.createLeave(leaveService, memberId, MONDAY, MONDAY.plusDays(1)));
+            leaveIds.add(TestData.createLeave(leaveService, memberId, MONDAY.plusWeeks(4), MONDAY.plusWeeks(4)));
+        }
+    }
+
+    private long statementsToDelete(Long teamId) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        teamService.deleteTeam(teamId);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> tombstoned(String entityType) {
+        return jdbcTemplate.queryForList("SELECT entity_id FROM tombstones WHERE entity_type = ?", Long.class, entityType);
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
\ No newline at end of file
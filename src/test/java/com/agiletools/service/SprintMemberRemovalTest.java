@@ -0,0 +1,140 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.PublicHolidayDto;
+import com.agiletools.dto.SprintCapacityDto;
+import com.agiletools.dto.SprintDto;
+import com.agiletools.dto.TeamMemberDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sprint-member-removal;DB_CLOSE_DELAY=-1")
+class SprintMemberRemovalTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate SPRINT_START = TODAY.minusDays(7);
+    private static final LocalDate SPRINT_END = TODAY.plusDays(7);
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private SprintService sprintService;
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    @Test
+    void deletedMemberLosesTheRestOfTheSprint() {
+        Long teamId = TestData.team(teamService);
+        TestData.member(teamMemberService, teamId, null, 100.0);
+        Long leaving = TestData.member(teamMemberService, teamId, null, 50.0);
+        TestData.createLeave(leaveService, leaving, TODAY.plusDays(1), TODAY.plusDays(2));
+        Long sprintId = startSprint(teamId);
+
+        teamMemberService.deleteMember(leaving);
+
+        assertRemainingDaysLost(sprintId);
+    }
+
+    @Test
+    void movedMemberLosesTheRestOfTheSprint() {
+        Long teamId = TestData.team(teamService);
+        Long otherTeamId = TestData.team(teamService);
+        TestData.member(teamMemberService, teamId, null, 100.0);
+        Long leaving = TestData.member(teamMemberService, teamId, null, 50.0);
+        TestData.createLeave(leaveService, leaving, TODAY.plusDays(1), TODAY.plusDays(2));
+        Long sprintId = startSprint(teamId);
+
+        TeamMemberDto member = teamMemberService.getMemberById(leaving);
+        member.setTeamId(otherTeamId);
+        teamMemberService.updateMember(leaving, member);
+
+        assertRemainingDaysLost(sprintId);
+    }
+
+    @Test
+    void memberMovingBackRegainsTheDaysTheyAreAvailableOn() {
+        Long teamId = TestData.team(teamService);
+        Long otherTeamId = TestData.team(teamService);
+        Long moving = TestData.member(teamMemberService, teamId, null, 50.0);
+        Long sprintId = startSprint(teamId);
+        TestData.createLeave(leaveService, moving, TODAY.plusDays(1), TODAY.plusDays(2));
+        double withLeave = sprintService.getSprintCapacity(sprintId).getCurrentPersonDays();
+
+        TeamMemberDto member = teamMemberService.getMemberById(moving);
+        member.setTeamId(otherTeamId);
+        teamMemberService.updateMember(moving, member);
+        member = teamMemberService.getMemberById(moving);
+        member.setTeamId(teamId);
+        teamMemberService.updateMember(moving, member);
+
+        assertThat(sprintService.getSprintCapacity(sprintId).getCurrentPersonDays()).isCloseTo(withLeave, within(1e-9));
+        assertThat(sprintService.getSprintById(sprintId).getCurrentPersonDays()).isCloseTo(withLeave, within(1e-9));
+    }
+
+    @Test
+    void holidayChangesAreRecordedInStartedSprints() {
+        Long teamId = TestData.team(teamService);
+        TestData.member(teamMemberService, teamId, "SPRINT-HOLIDAYS", 50.0);
+        Long sprintId = startSprint(teamId);
+        double snapshot = sprintService.getSprintCapacity(sprintId).getCurrentPersonDays();
+        LocalDate day = TODAY.plusDays(1);
+        while (day.getDayOfWeek().getValue() >= DayOfWeek.SATURDAY.getValue()) {
+            day = day.plusDays(1);
+        }
+
+        PublicHolidayDto holiday = new PublicHolidayDto();
+        holiday.setJurisdiction("SPRINT-HOLIDAYS");
+        holiday.setDate(day);
+        Long holidayId = holidayCalendarService.createHoliday(holiday).getId();
+
+        assertThat(sprintService.getSprintCapacity(sprintId).getCurrentPersonDays()).isCloseTo(snapshot - 0.5, within(1e-9));
+        assertThat(sprintService.getSprintById(sprintId).getCurrentPersonDays()).isCloseTo(snapshot - 0.5, within(1e-9));
+
+        holidayCalendarService.deleteHoliday(holidayId);
+
+        assertThat(sprintService.getSprintCapacity(sprintId).getCurrentPersonDays()).isCloseTo(snapshot, within(1e-9));
+        assertThat(sprintService.getSprintById(sprintId).getCurrentPersonDays()).isCloseTo(snapshot, within(1e-9));
+    }
+
+    private Long startSprint(Long teamId) {
+        SprintDto sprint = new SprintDto();
+        sprint.setName("Sprint");
+        sprint.setTeamId(teamId);
+        sprint.setStartDate(SPRINT_START);
+        sprint.setEndDate(SPRINT_END);
+        Long sprintId = sprintService.createSprint(sprint).getId();
+        sprintService.startSprint(sprintId);
+        return sprintId;
+    }
+
+    /**
+     * The staying member counts every working day of the sprint, the leaving one only the days
+     * before today.
+     */
+    private void assertRemainingDaysLost(Long sprintId) {
+        int sprintDays = (int) (SPRINT_END.toEpochDay() - SPRINT_START.toEpochDay() + 1);
+        int pastDays = (int) (TODAY.toEpochDay() - SPRINT_START.toEpochDay());
+        double expected = CapacityService.workingDays(SPRINT_START, sprintDays).cardinality()
+                + 0.5 * CapacityService.workingDays(SPRINT_START, pastDays).cardinality();
+
+        SprintCapacityDto capacity = sprintService.getSprintCapacity(sprintId);
+        assertThat(capacity.getCurrentPersonDays()).isCloseTo(expected, within(1e-9));
+        assertThat(capacity.getSnapshotPersonDays()).isGreaterThan(expected);
+        assertThat(sprintService.getSprintById(sprintId).getCurrentPersonDays()).isCloseTo(expected, within(1e-9));
+    }
+}
\ No newline at end of file
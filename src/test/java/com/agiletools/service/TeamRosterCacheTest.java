@@ -0,0 +1,100 @@
+package com.agiletools.service;
+
+import com.agiletools.TestData;
+import com.agiletools.dto.CacheStatsDto;
+import com.agiletools.dto.TeamDto;
+import com.agiletools.dto.TeamMemberDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:team-roster-cache;DB_CLOSE_DELAY=-1",
+        "app.roster-cache.max-size=2"
+})
+class TeamRosterCacheTest {
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private TeamRosterCache teamRosterCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void cachedRostersCannotBeChangedByCallers() {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        TeamDto loaded = teamService.getTeamById(teamId);
+        loaded.setName("Changed");
+        loaded.getMembers().get(0).setFirstName("Changed");
+        long hits = teamRosterCache.getStats().getHits();
+
+        TeamDto cached = teamService.getTeamById(teamId);
+        cached.getMembers().get(0).setCapacityPercentage(10.0);
+
+        assertThat(teamRosterCache.getStats().getHits()).isEqualTo(hits + 1);
+        TeamDto again = teamService.getTeamById(teamId);
+        assertThat(again.getName()).isNotEqualTo("Changed");
+        assertThat(again.getMembers()).extracting(TeamMemberDto::getId).containsExactly(memberId);
+        assertThat(again.getMembers().get(0).getFirstName()).isNotEqualTo("Changed");
+        assertThat(again.getMembers().get(0).getCapacityPercentage()).isEqualTo(100.0);
+    }
+
+    @Test
+    void committedMemberChangesInvalidateTheRoster() {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        teamService.getTeamById(teamId);
+
+        TeamMemberDto member = teamMemberService.getMemberById(memberId);
+        member.setFirstName("Renamed");
+        teamMemberService.updateMember(memberId, member);
+
+        assertThat(teamService.getTeamById(teamId).getMembers())
+                .extracting(TeamMemberDto::getFirstName).containsExactly("Renamed");
+    }
+
+    @Test
+    void rolledBackChangesKeepTheRosterCached() {
+        Long teamId = TestData.team(teamService);
+        Long memberId = TestData.member(teamMemberService, teamId, null, 100.0);
+        teamService.getTeamById(teamId);
+        long invalidations = teamRosterCache.getStats().getInvalidations();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            teamMemberService.deleteMember(memberId);
+            status.setRollbackOnly();
+        });
+
+        assertThat(teamRosterCache.getStats().getInvalidations()).isEqualTo(invalidations);
+        assertThat(teamRosterCache.get(teamId).getMembers()).extracting(TeamMemberDto::getId).containsExactly(memberId);
+    }
+
+    @Test
+    void leastRecentlyUsedRostersAreEvicted() {
+        Long first = TestData.team(teamService);
+        Long second = TestData.team(teamService);
+        Long third = TestData.team(teamService);
+        teamService.getTeamById(first);
+        teamService.getTeamById(second);
+        long evictions = teamRosterCache.getStats().getEvictions();
+
+        teamService.getTeamById(first);
+        teamService.getTeamById(third);
+
+        CacheStatsDto stats = teamRosterCache.getStats();
+        assertThat(stats.getSize()).isEqualTo(2);
+        assertThat(stats.getEvictions()).isEqualTo(evictions + 1);
+        assertThat(teamRosterCache.get(first)).isNotNull();
+        assertThat(teamRosterCache.get(second)).isNull();
+    }
+}
\ No newline at end of file